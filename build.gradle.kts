@@ -24,6 +24,12 @@ repositories {
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    // Integration tests run against a throwaway MySQL container (InnoDB locking is what they exercise);
+    // they are skipped when no Docker daemon is available
+    testImplementation("org.springframework.boot:spring-boot-testcontainers")
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:mysql")
 
     // For Spring Data JPA
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
@@ -32,6 +38,11 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    // Hibernate second-level cache (JCache API backed by Caffeine) and Hibernate statistics as Micrometer meters
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("com.github.ben-manes.caffeine:jcache")
     // You'll also need a JDBC driver for your chosen database.
     // For example, if you're using PostgreSQL:
     // runtimeOnly("org.postgresql:postgresql")
@@ -44,7 +55,50 @@ dependencies {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// Load and throughput measurements (tests tagged "benchmark"); they print their numbers and are not run by
+// `test`. Usage: ./gradlew benchmark
+val benchmark by tasks.registering(Test::class) {
+    description = "Runs the benchmark-tagged tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+    maxHeapSize = "2g"
+    shouldRunAfter(tasks.test)
+}
+
+// JMH microbenchmarks for code that runs without the database (src/jmh/java).
+// Usage: ./gradlew jmh, or ./gradlew jmh -Pjmh.includes=PasswordEncoderBenchmark
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    jmh.implementationConfigurationName("org.openjdk.jmh:jmh-core:1.37")
+    jmh.annotationProcessorConfigurationName("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(providers.gradleProperty("jmh.includes").getOrElse(".*"), "-rf", "json",
+        "-rff", layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path)
 }
 
 tasks.withType<BootRun>().configureEach {
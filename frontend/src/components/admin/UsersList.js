@@ -8,12 +8,25 @@ const UsersList = () => {
   const [authorized, setAuthorized] = useState(false);
   const [checkingAuth, setCheckingAuth] = useState(true);
   const [togglingStatus, setTogglingStatus] = useState(false);
+  const [pagination, setPagination] = useState({
+    currentPage: 0, // 0-based for backend
+    itemsPerPage: 24,
+    totalPages: 0,
+    totalItems: 0
+  });
   const navigate = useNavigate();
 
   useEffect(() => {
     checkAdminAuth();
   }, []);
 
+  // Fetch the next page once authorized and whenever the page changes
+  useEffect(() => {
+    if (authorized) {
+      fetchUsers();
+    }
+  }, [authorized, pagination.currentPage]);
+
   const checkAdminAuth = async () => {
     try {
       const response = await fetch('/api/auth/status', {
@@ -26,7 +39,6 @@ const UsersList = () => {
         
         if (isAdmin) {
           setAuthorized(true);
-          fetchUsers();
         } else {
           setError('Access denied. Admin privileges required.');
           setTimeout(() => navigate('/projects'), 3000);
@@ -46,14 +58,26 @@ const UsersList = () => {
 
   const fetchUsers = async () => {
     try {
-      const response = await fetch('/api/admin/users', {
+      setLoading(true);
+
+      const params = new URLSearchParams({
+        page: pagination.currentPage.toString(),
+        size: pagination.itemsPerPage.toString()
+      });
+
+      const response = await fetch(`/api/admin/users?${params}`, {
         credentials: 'include'
       });
       
       if (response.ok) {
         const data = await response.json();
         if (data.success) {
-          setUsers(data.users);
+          setUsers(data.users || []);
+          setPagination(prev => ({
+            ...prev,
+            totalPages: data.totalPages || 0,
+            totalItems: data.totalItems || 0
+          }));
         } else {
           setError(data.error || 'Failed to fetch users');
         }
@@ -104,6 +128,13 @@ const UsersList = () => {
     }
   };
 
+  const handlePageChange = (newPage) => {
+    setPagination(prev => ({
+      ...prev,
+      currentPage: newPage
+    }));
+  };
+
   if (checkingAuth) {
     return (
       <div className="main-content">
@@ -125,7 +156,7 @@ const UsersList = () => {
   return (
     <div className="main-content">
       <div className="page-header">
-        <h1 className="page-title">All Users</h1>
+        <h1 className="page-title">All Users ({pagination.totalItems})</h1>
         <div className="page-actions">
           <button 
             onClick={() => navigate('/admin/dashboard')} 
@@ -200,6 +231,51 @@ const UsersList = () => {
           ))}
         </div>
       )}
+
+      {/* Pagination Controls */}
+      {pagination.totalPages > 1 && (
+        <div className="pagination-controls">
+          <div className="pagination-info">
+            <span>
+              Page {pagination.currentPage + 1} of {pagination.totalPages}
+            </span>
+          </div>
+
+          <div className="pagination-buttons">
+            <button
+              onClick={() => handlePageChange(0)}
+              disabled={pagination.currentPage === 0}
+              className="btn-small btn-outline"
+            >
+              First
+            </button>
+
+            <button
+              onClick={() => handlePageChange(pagination.currentPage - 1)}
+              disabled={pagination.currentPage === 0}
+              className="btn-small btn-outline"
+            >
+              Previous
+            </button>
+
+            <button
+              onClick={() => handlePageChange(pagination.currentPage + 1)}
+              disabled={pagination.currentPage === pagination.totalPages - 1}
+              className="btn-small btn-outline"
+            >
+              Next
+            </button>
+
+            <button
+              onClick={() => handlePageChange(pagination.totalPages - 1)}
+              disabled={pagination.currentPage === pagination.totalPages - 1}
+              className="btn-small btn-outline"
+            >
+              Last
+            </button>
+          </div>
+        </div>
+      )}
     </div>
   );
 };
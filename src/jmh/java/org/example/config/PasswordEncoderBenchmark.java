@@ -0,0 +1,93 @@
+package org.example.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks with more concurrent callers than cores, hashing on the caller ({@code direct}) versus on
+ * {@link BoundedPasswordEncoder}'s pool ({@code bounded}). {@code login} is the authentication step of
+ * {@code POST /api/auth/login} (user lookup plus password check) without HTTP or the database. Sample mode
+ * reports p50/p99; under overload the bounded encoder answers fast with
+ * {@link PasswordHashingOverloadedException} instead of queueing every caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(32)
+public class PasswordEncoderBenchmark {
+
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "benchmark-Password-1";
+
+    @Param({"10", "12"})
+    public int cost;
+
+    @Param({"direct", "bounded"})
+    public String mode;
+
+    private PasswordEncoder encoder;
+    private String encodedPassword;
+    private DaoAuthenticationProvider provider;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+        encoder = "bounded".equals(mode)
+                ? new BoundedPasswordEncoder(bcrypt, Runtime.getRuntime().availableProcessors(), 64, Duration.ofSeconds(3))
+                : bcrypt;
+        encodedPassword = bcrypt.encode(PASSWORD);
+
+        provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername(USERNAME).password(encodedPassword).roles("USER").build()));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (encoder instanceof BoundedPasswordEncoder bounded) {
+            bounded.destroy();
+        }
+    }
+
+    @Benchmark
+    public boolean matches() {
+        try {
+            return encoder.matches(PASSWORD, encodedPassword);
+        } catch (PasswordHashingOverloadedException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean login() {
+        try {
+            return provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD)).isAuthenticated();
+        } catch (PasswordHashingOverloadedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency of one tenant's {@link TrigramIndex} holding 100k tasks (name plus a short description),
+ * for a two-letter prefix, a whole word, a typo and a multi-word query, plus the cost of an incremental
+ * update. Sample mode reports p50/p99; the target is a few milliseconds per search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TrigramIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "facade", "concrete", "slab", "pour", "structural", "review", "drawings", "elevation", "kitchen",
+            "lighting", "survey", "permit", "tender", "landscape", "drainage", "acoustic", "panel", "staircase",
+            "window", "schedule", "client", "meeting", "site", "visit", "render", "model", "detail", "roof",
+            "insulation", "foundation", "steel", "timber", "glazing", "ceiling", "flooring", "budget", "revision"
+    };
+
+    @Param({"100000"})
+    public int documents;
+
+    @Param({"fa", "facade", "fcade", "concrete slab pour"})
+    public String query;
+
+    private TrigramIndex index;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new TrigramIndex();
+        random = new SplittableRandom(42);
+        for (int id = 1; id <= documents; id++) {
+            index.put(id, phrase(3), phrase(12));
+        }
+    }
+
+    // Consumed through the Blackhole: generated code lives in a sub-package and cannot name TrigramIndex.Hits
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        blackhole.consume(index.search(query, 0, 20));
+    }
+
+    @Benchmark
+    public void update() {
+        index.put(1 + random.nextInt(documents), phrase(3), phrase(12));
+    }
+
+    private String phrase(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.append(' ').append(random.nextInt(1000)).toString();
+    }
+}
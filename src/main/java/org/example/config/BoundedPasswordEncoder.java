@@ -0,0 +1,136 @@
+package org.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt encoder that runs every encode/match on a small dedicated pool with a bounded queue.
+ * <p>
+ * Hashing is CPU-bound, so running it on servlet threads lets a login burst occupy the whole Tomcat pool.
+ * Here at most {@code threads} hashes run at once, at most {@code queueCapacity} wait, and anything beyond
+ * that (or anything that waits longer than {@code timeout}) fails fast with
+ * {@link PasswordHashingOverloadedException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final String CALIBRATION_PASSWORD = "calibration-Password-1";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            throw overloaded("Password hashing queue is full");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw overloaded("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private PasswordHashingOverloadedException overloaded(String message) {
+        logger.warn("{} (active: {}, queued: {})", message, executor.getActiveCount(), executor.getQueue().size());
+        return new PasswordHashingOverloadedException(message, Math.max(1, timeout.toSeconds()));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Picks the highest BCrypt cost in {@code [minCost, maxCost]} whose measured hash time on this machine
+     * stays within {@code target}. Never returns less than {@code minCost}.
+     */
+    public static int calibrateBcryptCost(int minCost, int maxCost, Duration target) {
+        // Warm up the JIT so the first measurement is not inflated
+        new BCryptPasswordEncoder(minCost).encode(CALIBRATION_PASSWORD);
+
+        int cost = minCost;
+        long elapsedMillis = measureMillis(cost);
+        while (cost < maxCost) {
+            long nextMillis = measureMillis(cost + 1);
+            if (nextMillis > target.toMillis()) {
+                break;
+            }
+            cost++;
+            elapsedMillis = nextMillis;
+        }
+        logger.info("Calibrated BCrypt cost {} (~{} ms per hash, target {} ms)", cost, elapsedMillis, target.toMillis());
+        return cost;
+    }
+
+    private static long measureMillis(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests in flight when requests run on virtual threads.
+ * <p>
+ * With platform threads the Tomcat pool bounds concurrency; with virtual threads every request gets a
+ * thread and they all queue on the Hikari pool, where they time out after {@code connectionTimeout} while
+ * holding memory and sockets. This filter admits at most {@code permits} requests (sized from the pool,
+ * since open-in-view keeps a connection for the whole request), lets others wait up to {@code acquireTimeout},
+ * and answers 503 with Retry-After after that. Async requests (streaming exports) keep their permit until
+ * the async work completes, errors or times out, since open-in-view holds their connection until then.
+ */
+public class DatabaseAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseAdmissionFilter.class);
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Counter rejected;
+
+    public DatabaseAdmissionFilter(int permits, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeout = acquireTimeout;
+        this.rejected = Counter.builder("http.server.admission.rejected")
+                .description("API requests turned away because all database admission permits were taken")
+                .register(meterRegistry);
+        Gauge.builder("http.server.admission.available", this.permits, Semaphore::availablePermits)
+                .description("Free database admission permits")
+                .register(meterRegistry);
+        logger.info("Database admission control enabled: {} permits, {} acquire timeout", permits, acquireTimeout);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, acquireTimeout.toSeconds());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"success\":false,\"error\":\"Server is busy, please retry shortly\"}");
+            return;
+        }
+        boolean releaseOnAsyncCompletion = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener());
+                releaseOnAsyncCompletion = true;
+            }
+        } finally {
+            if (!releaseOnAsyncCompletion) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Returns the permit when an async request ends. The container may report both onError and
+     * onComplete for the same request, so the permit is released at most once.
+     */
+    private final class ReleasingAsyncListener implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A repeated startAsync drops registered listeners after notifying them, so register again
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
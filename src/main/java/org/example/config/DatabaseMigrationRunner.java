@@ -46,6 +46,80 @@ public class DatabaseMigrationRunner implements ApplicationRunner {
             logger.error("Error updating database schema: {}", e.getMessage(), e);
             // Don't fail the application startup, just log the error
         }
+
+        backfillTaskOrganizations();
+        backfillTaskVersions();
+        backfillAttendanceStates();
+    }
+
+    /**
+     * Creates an attendance_state row for every user that has none, seeded from their latest entry, so
+     * clock-in/clock-out only ever update an existing row. Idempotent.
+     */
+    private void backfillAttendanceStates() {
+        try {
+            int inserted = jdbcTemplate.update("""
+                INSERT IGNORE INTO attendance_state (user_id, last_entry_type, last_timestamp, last_entry_id)
+                SELECT u.id, ae.entry_type, ae.timestamp, ae.id
+                FROM users u
+                LEFT JOIN attendance_entries ae ON ae.id = (
+                    SELECT latest.id FROM attendance_entries latest
+                    WHERE latest.user_id = u.id
+                    ORDER BY latest.timestamp DESC, latest.id DESC
+                    LIMIT 1)
+                WHERE NOT EXISTS (SELECT 1 FROM attendance_state s WHERE s.user_id = u.id)
+                """);
+            if (inserted > 0) {
+                logger.info("Created attendance state for {} users", inserted);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling attendance states: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gives tasks created before optimistic locking a starting version; Hibernate cannot update a row whose
+     * version is NULL. Idempotent.
+     */
+    private void backfillTaskVersions() {
+        try {
+            int updated = jdbcTemplate.update("UPDATE tasks SET version = 0 WHERE version IS NULL");
+            if (updated > 0) {
+                logger.info("Initialized version on {} tasks", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling task versions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fills tasks.organization_id for rows created before the column existed: project tasks take the
+     * project's organization, standalone tasks the reporter's. Idempotent; only touches NULL rows.
+     */
+    private void backfillTaskOrganizations() {
+        try {
+            int fromProjects = jdbcTemplate.update("""
+                UPDATE tasks t
+                JOIN projects p ON p.id = t.project_id
+                SET t.organization_id = p.organization_id
+                WHERE t.organization_id IS NULL
+                """);
+
+            int fromReporters = jdbcTemplate.update("""
+                UPDATE tasks t
+                JOIN users u ON u.id = t.reporter_id
+                SET t.organization_id = u.organization_id
+                WHERE t.organization_id IS NULL
+                AND t.project_id IS NULL
+                """);
+
+            if (fromProjects + fromReporters > 0) {
+                logger.info("Backfilled organization_id on {} project tasks and {} standalone tasks",
+                        fromProjects, fromReporters);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling task organizations: {}", e.getMessage(), e);
+        }
     }
 }
 
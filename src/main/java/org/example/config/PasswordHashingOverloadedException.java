@@ -0,0 +1,19 @@
+package org.example.config;
+
+/**
+ * Thrown when the password hashing pool cannot accept or finish a hash in time.
+ * Callers should answer with 503 and a Retry-After hint instead of tying up request threads.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections everywhere else.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction's read-only flag is only published after the transaction manager has asked for a
+ * connection, so the physical connection has to be fetched at the first statement. If the replica is
+ * lagging or refuses a connection, the read goes to the primary instead.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private static final String ROUTED_METRIC = "datasource.routing.connections";
+    private static final String FALLBACK_METRIC = "datasource.routing.fallbacks";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter lagFallbacks;
+    private final Counter errorFallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = Counter.builder(ROUTED_METRIC).tag("target", "primary")
+                .description("Connections handed out per target").register(meterRegistry);
+        this.replicaConnections = Counter.builder(ROUTED_METRIC).tag("target", "replica")
+                .description("Connections handed out per target").register(meterRegistry);
+        this.lagFallbacks = Counter.builder(FALLBACK_METRIC).tag("reason", "unusable")
+                .description("Read-only connections served by the primary instead of the replica").register(meterRegistry);
+        this.errorFallbacks = Counter.builder(FALLBACK_METRIC).tag("reason", "error")
+                .description("Read-only connections served by the primary instead of the replica").register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (lagMonitor.isReplicaUsable()) {
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaConnections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    lagMonitor.markFailed(e);
+                    errorFallbacks.increment();
+                }
+            } else {
+                lagFallbacks.increment();
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Pools are configured with their own credentials; per-call credentials always go to the primary
+        primaryConnections.increment();
+        return primary.getConnection(username, password);
+    }
+
+    // Lets pool-level callers (e.g. admission control sizing) see the primary pool through the proxy
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
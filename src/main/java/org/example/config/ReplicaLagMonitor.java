@@ -0,0 +1,104 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Decides whether the read replica may serve read-only transactions.
+ * <p>
+ * Every check reads the replica's replication delay ({@code SHOW REPLICA STATUS}, falling back to
+ * {@code SHOW SLAVE STATUS} on older servers). The replica is usable while the delay is at most
+ * {@code maxLag}. A server that is not replicating at all (e.g. a second local database used for testing)
+ * reports no status row and counts as zero lag. A stopped SQL thread, a failed check or a failed
+ * connection attempt marks it unusable until the next successful check.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final Duration maxLag;
+
+    private volatile boolean usable;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagSeconds)
+                .description("Replication delay of the read replica in seconds (-1 when unknown)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Called by the routing data source when the replica could not hand out a connection.
+     */
+    public void markFailed(SQLException e) {
+        if (usable) {
+            logger.warn("Read replica unavailable, routing reads to primary: {}", e.getMessage());
+        }
+        usable = false;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Long lag = readLagSeconds();
+            lagSeconds = lag != null ? lag : -1;
+            usable = lag != null && lag <= maxLag.toSeconds();
+        } catch (SQLException e) {
+            lagSeconds = -1;
+            usable = false;
+            if (wasUsable) {
+                logger.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable != usable) {
+            logger.info("Read replica {} (lag {}s, tolerance {}s)", usable ? "enabled" : "disabled",
+                    lagSeconds, maxLag.toSeconds());
+        }
+    }
+
+    // Seconds behind the source, 0 when the server is not a replica, null when replication is stopped
+    private Long readLagSeconds() throws SQLException {
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try {
+                return readLag(statement, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                // MySQL before 8.0.22 and MariaDB
+                return readLag(statement, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private static Long readLag(Statement statement, String sql, String column) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+}
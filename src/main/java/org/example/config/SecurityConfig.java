@@ -1,6 +1,7 @@
 // src/main/java/org/example/config/SecurityConfig.java
 package org.example.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,14 +15,23 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true) // To enable @PreAuthorize
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.min-cost:10}") int minCost,
+                                           @Value("${app.security.password.max-cost:14}") int maxCost,
+                                           @Value("${app.security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                           @Value("${app.security.password.hashing-threads:0}") int hashingThreads,
+                                           @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.security.password.timeout:3s}") Duration timeout) {
+        int cost = BoundedPasswordEncoder.calibrateBcryptCost(minCost, maxCost, targetHashTime);
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost), threads, queueCapacity, timeout);
     }
 
     @Bean
@@ -0,0 +1,54 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}. Boot itself moves Tomcat, the MVC async executor
+ * (streaming exports) and the scheduler onto virtual threads; this adds admission control in front of the
+ * connection pool and pinning detection. Nothing here is created in the default platform-thread mode.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<DatabaseAdmissionFilter> databaseAdmissionFilter(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.admission.permits:0}") int permits,
+            @Value("${app.virtual-threads.admission.acquire-timeout:2s}") Duration acquireTimeout) {
+        int effectivePermits = permits > 0 ? permits : poolSize(dataSource);
+        FilterRegistrationBean<DatabaseAdmissionFilter> registration =
+                new FilterRegistrationBean<>(new DatabaseAdmissionFilter(effectivePermits, acquireTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of Spring Security, whose login path also hits the database
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (Exception e) {
+            return 10; // Hikari's default maximumPoolSize
+        }
+    }
+}
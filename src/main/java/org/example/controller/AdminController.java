@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import org.example.config.PasswordHashingOverloadedException;
 import org.example.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,17 +15,22 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.example.dto.UserRegistrationDto;
 import org.example.models.User;
 import org.example.models.Role;
+import org.example.repository.projection.UserListRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.security.core.Authentication;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import org.example.service.CurrentUserResolver;
+import org.example.service.OrganizationStatsService;
 import org.example.service.ProjectService;
 import org.example.service.TaskService;
 
@@ -37,12 +43,17 @@ public class AdminController {
     private final UserService userService;
     private final ProjectService projectService;
     private final TaskService taskService;
+    private final OrganizationStatsService organizationStatsService;
+    private final CurrentUserResolver currentUserResolver;
 
     @Autowired
-    public AdminController(UserService userService, ProjectService projectService, TaskService taskService) {
+    public AdminController(UserService userService, ProjectService projectService, TaskService taskService,
+                           OrganizationStatsService organizationStatsService, CurrentUserResolver currentUserResolver) {
         this.userService = userService;
         this.projectService = projectService;
         this.taskService = taskService;
+        this.organizationStatsService = organizationStatsService;
+        this.currentUserResolver = currentUserResolver;
     }
 
     // This endpoint allows an existing admin to grant ROLE_ADMIN to another user.
@@ -87,6 +98,10 @@ public class AdminController {
                 "success", false,
                 "error", e.getMessage()
             ));
+        } catch (PasswordHashingOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("success", false, "error", "Server is busy, please retry shortly"));
         } catch (Exception e) {
             logger.error("Error creating user: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
@@ -99,39 +114,43 @@ public class AdminController {
     // Add endpoint for listing users (this was missing and causing the infinite loop)
     @GetMapping("/users")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<?> listUsers(Authentication authentication) {
+    public ResponseEntity<?> listUsers(@RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "20") int size,
+                                       @RequestParam(defaultValue = "name") String sort,
+                                       @RequestParam(defaultValue = "asc") String direction,
+                                       @RequestParam(required = false) Boolean enabled,
+                                       @RequestParam(required = false) String role,
+                                       @RequestParam(required = false) String designation) {
         try {
-            // Get the current admin user to determine their organization
-            String adminUsername = authentication.getName();
-            User adminUser = userService.findByUsername(adminUsername)
-                    .orElseThrow(() -> new IllegalArgumentException("Admin user not found"));
-            
-            if (adminUser.getOrganization() == null) {
+            // Only the organization ID is needed, and the session principal carries it
+            Long organizationId = currentUserResolver.getOrganizationId();
+            if (organizationId == null) {
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
                     "error", "Admin user must belong to an organization"
                 ));
             }
-            
-            // Get users from the same organization only
-            List<User> users = userService.findUsersByOrganization(adminUser.getOrganization().getId());
-            List<Map<String, Object>> userList = users.stream()
-                .map(user -> Map.of(
-                    "id", user.getId(),
-                    "username", user.getUsername(),
-                    "name", user.getName() != null ? user.getName() : user.getUsername(),
-                    "email", user.getEmail(),
-                    "enabled", user.isEnabled(),
-                    "roles", user.getRoles().stream()
-                        .map(role -> role.getName())
-                        .collect(Collectors.toList())
-                ))
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "users", userList,
-                "message", "Users retrieved successfully"
+            if (!"asc".equalsIgnoreCase(direction) && !"desc".equalsIgnoreCase(direction)) {
+                throw new IllegalArgumentException("Direction must be 'asc' or 'desc'.");
+            }
+
+            Page<UserListRow> userPage = userService.findUserListPage(organizationId, enabled, role, designation,
+                    page, size, sort, "desc".equalsIgnoreCase(direction));
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Users retrieved successfully");
+            response.put("users", userPage.getContent());
+            response.put("currentPage", userPage.getNumber());
+            response.put("pageSize", userPage.getSize());
+            response.put("totalItems", userPage.getTotalElements());
+            response.put("totalPages", userPage.getTotalPages());
+            response.put("hasNext", userPage.hasNext());
+            response.put("hasPrevious", userPage.hasPrevious());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "error", e.getMessage()
             ));
         } catch (Exception e) {
             logger.error("Error listing users: {}", e.getMessage(), e);
@@ -165,6 +184,10 @@ public class AdminController {
                 "success", false,
                 "error", e.getMessage()
             ));
+        } catch (PasswordHashingOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("success", false, "error", "Server is busy, please retry shortly"));
         } catch (Exception e) {
             logger.error("Error changing password for user {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
@@ -334,6 +357,45 @@ public class AdminController {
         }
     }
 
+    // Get attendance calendars for every user in the admin's organization with a single query
+    @GetMapping("/attendance")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> getOrganizationAttendance(
+            @RequestParam int year,
+            @RequestParam int month) {
+        try {
+            // Only the organization ID is needed, and the session principal carries it
+            Long organizationId = currentUserResolver.getOrganizationId();
+            if (organizationId == null) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", "Admin user must belong to an organization"
+                ));
+            }
+
+            Map<Long, Map<String, String>> calendars = userService.getOrganizationAttendanceForMonth(
+                    organizationId, year, month);
+
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "year", year,
+                "month", month,
+                "users", calendars
+            ));
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "error", e.getMessage()
+            ));
+        } catch (Exception e) {
+            logger.error("Error fetching organization attendance: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "success", false,
+                "error", "Failed to fetch attendance data"
+            ));
+        }
+    }
+
     // Endpoint to toggle user status (activate/deactivate)
     @PostMapping("/users/{userId}/toggle-status")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -369,35 +431,28 @@ public class AdminController {
     // Dashboard endpoint as requested
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<?> getDashboard(Authentication authentication) {
+    public ResponseEntity<?> getDashboard() {
         try {
-            // Get the current admin user to determine their organization
-            String adminUsername = authentication.getName();
-            User adminUser = userService.findByUsername(adminUsername)
-                    .orElseThrow(() -> new IllegalArgumentException("Admin user not found"));
-            
-            if (adminUser.getOrganization() == null) {
+            // Only the organization ID is needed, and the session principal carries it
+            Long organizationId = currentUserResolver.getOrganizationId();
+            if (organizationId == null) {
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
                     "error", "Admin user must belong to an organization"
                 ));
             }
             
-            // Get real statistics for the organization
-            Long organizationId = adminUser.getOrganization().getId();
-            long totalUsers = userService.countUsersByOrganization(organizationId);
-            long totalProjects = projectService.countProjectsByOrganization(organizationId);
-            long totalTasks = taskService.countTasksByOrganization(organizationId);
-            long activeProjects = projectService.countActiveProjectsByOrganization(organizationId);
+            // Counters are maintained incrementally and served from a short-lived cache
+            OrganizationStatsService.Snapshot stats = organizationStatsService.getStats(organizationId);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Admin dashboard data retrieved successfully",
                 "stats", Map.of(
-                    "totalUsers", totalUsers,
-                    "totalProjects", totalProjects,
-                    "totalTasks", totalTasks,
-                    "activeProjects", activeProjects
+                    "totalUsers", stats.getTotalUsers(),
+                    "totalProjects", stats.getTotalProjects(),
+                    "totalTasks", stats.getTotalTasks(),
+                    "activeProjects", stats.getActiveProjects()
                 )
             ));
         } catch (Exception e) {
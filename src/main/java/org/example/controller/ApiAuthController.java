@@ -1,6 +1,8 @@
 package org.example.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,6 +23,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.example.config.PasswordHashingOverloadedException;
 import org.example.models.User;
 import org.example.service.UserService;
 
@@ -86,6 +89,12 @@ public class ApiAuthController {
             response.put("success", false);
             response.put("message", "Invalid username or password");
             return ResponseEntity.status(401).body(response);
+        } catch (PasswordHashingOverloadedException e) {
+            response.put("success", false);
+            response.put("message", "Server is busy, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Login failed: " + e.getMessage());
@@ -1,13 +1,13 @@
 package org.example.controller;
 
 import org.example.models.AttendanceEntry;
-import org.example.models.User;
+import org.example.models.AttendanceState;
 import org.example.repository.AttendanceEntryRepository;
-import org.example.repository.UserRepository;
+import org.example.service.AttendanceService;
+import org.example.service.AuthenticatedUser;
+import org.example.service.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -25,53 +25,35 @@ public class AttendanceController {
     private AttendanceEntryRepository attendanceEntryRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private AttendanceService attendanceService;
 
     @PostMapping("/clock-in")
     public ResponseEntity<?> clockIn(@RequestBody(required = false) Map<String, String> requestBody) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
+            Optional<AuthenticatedUser> currentUser = currentUserResolver.findCurrentUser();
+            if (currentUser.isEmpty()) {
                 response.put("success", false);
                 response.put("message", "User not authenticated");
                 return ResponseEntity.status(401).body(response);
             }
 
-            String username = authentication.getName();
-            Optional<User> userOptional = userRepository.findByUsername(username);
-            
-            if (!userOptional.isPresent()) {
-                response.put("success", false);
-                response.put("message", "User not found");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            User user = userOptional.get();
+            String notes = requestBody != null ? requestBody.get("notes") : null;
 
-            // Check if user is already clocked in today
-            Optional<AttendanceEntry> latestEntry = attendanceEntryRepository.findLatestByUserId(user.getId());
-            if (latestEntry.isPresent() && 
-                latestEntry.get().getEntryType() == AttendanceEntry.EntryType.CLOCK_IN &&
-                latestEntry.get().getTimestamp().toLocalDate().equals(LocalDate.now())) {
+            AttendanceEntry savedEntry;
+            try {
+                savedEntry = attendanceService.clockIn(currentUserResolver.getUserReference(), notes);
+            } catch (AttendanceService.AttendanceStateException e) {
                 response.put("success", false);
-                response.put("message", "You are already clocked in for today");
-                response.put("lastClockIn", latestEntry.get().getTimestamp());
+                response.put("message", e.getMessage());
+                response.put("lastClockIn", e.getLastClockIn());
                 return ResponseEntity.badRequest().body(response);
             }
 
-            String notes = requestBody != null ? requestBody.get("notes") : null;
-            
-            AttendanceEntry entry = new AttendanceEntry(
-                user, 
-                AttendanceEntry.EntryType.CLOCK_IN, 
-                LocalDateTime.now(), 
-                notes
-            );
-            
-            AttendanceEntry savedEntry = attendanceEntryRepository.save(entry);
-
             response.put("success", true);
             response.put("message", "Successfully clocked in");
             response.put("entry", savedEntry);
@@ -91,45 +73,24 @@ public class AttendanceController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
+            Optional<AuthenticatedUser> currentUser = currentUserResolver.findCurrentUser();
+            if (currentUser.isEmpty()) {
                 response.put("success", false);
                 response.put("message", "User not authenticated");
                 return ResponseEntity.status(401).body(response);
             }
 
-            String username = authentication.getName();
-            Optional<User> userOptional = userRepository.findByUsername(username);
-            
-            if (!userOptional.isPresent()) {
-                response.put("success", false);
-                response.put("message", "User not found");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            User user = userOptional.get();
+            String notes = requestBody != null ? requestBody.get("notes") : null;
 
-            // Check if user is clocked in (last entry should be CLOCK_IN)
-            Optional<AttendanceEntry> latestEntry = attendanceEntryRepository.findLatestByUserId(user.getId());
-            if (!latestEntry.isPresent() || 
-                latestEntry.get().getEntryType() == AttendanceEntry.EntryType.CLOCK_OUT ||
-                !latestEntry.get().getTimestamp().toLocalDate().equals(LocalDate.now())) {
+            AttendanceEntry savedEntry;
+            try {
+                savedEntry = attendanceService.clockOut(currentUserResolver.getUserReference(), notes);
+            } catch (AttendanceService.AttendanceStateException e) {
                 response.put("success", false);
-                response.put("message", "You are not currently clocked in");
+                response.put("message", e.getMessage());
                 return ResponseEntity.badRequest().body(response);
             }
 
-            String notes = requestBody != null ? requestBody.get("notes") : null;
-            
-            AttendanceEntry entry = new AttendanceEntry(
-                user, 
-                AttendanceEntry.EntryType.CLOCK_OUT, 
-                LocalDateTime.now(), 
-                notes
-            );
-            
-            AttendanceEntry savedEntry = attendanceEntryRepository.save(entry);
-
             response.put("success", true);
             response.put("message", "Successfully clocked out");
             response.put("entry", savedEntry);
@@ -149,33 +110,25 @@ public class AttendanceController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
+            Optional<AuthenticatedUser> currentUser = currentUserResolver.findCurrentUser();
+            if (currentUser.isEmpty()) {
                 response.put("success", false);
                 response.put("message", "User not authenticated");
                 return ResponseEntity.status(401).body(response);
             }
+            Long userId = currentUser.get().getId();
 
-            String username = authentication.getName();
-            Optional<User> userOptional = userRepository.findByUsername(username);
-            
-            if (!userOptional.isPresent()) {
-                response.put("success", false);
-                response.put("message", "User not found");
-                return ResponseEntity.badRequest().body(response);
-            }
+            // Get today's entries to determine daily attendance status
+            LocalDate today = LocalDate.now();
+            List<AttendanceEntry> todayEntries = attendanceService.getEntriesForDay(userId, today);
 
-            User user = userOptional.get();
+            AttendanceState state = attendanceService.getState(userId);
+            boolean isClockedIn = state.isClockedInOn(today);
 
-            // Get today's entries to determine daily attendance status
-            List<AttendanceEntry> todayEntries = attendanceEntryRepository.findByUserIdAndDate(
-                user.getId(), LocalDate.now());
-            
-            Optional<AttendanceEntry> latestEntry = attendanceEntryRepository.findLatestByUserId(user.getId());
-            
-            boolean isClockedIn = latestEntry.isPresent() && 
-                                  latestEntry.get().getEntryType() == AttendanceEntry.EntryType.CLOCK_IN &&
-                                  latestEntry.get().getTimestamp().toLocalDate().equals(LocalDate.now());
+            // The newest entry is usually today's first row; only older ones need a lookup by id
+            Optional<AttendanceEntry> latestEntry = !todayEntries.isEmpty()
+                    ? Optional.of(todayEntries.get(0))
+                    : attendanceService.findEntry(state.getLastEntryId());
 
             response.put("success", true);
             response.put("isClockedIn", isClockedIn);
@@ -203,23 +156,13 @@ public class AttendanceController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
+            Optional<AuthenticatedUser> currentUser = currentUserResolver.findCurrentUser();
+            if (currentUser.isEmpty()) {
                 response.put("success", false);
                 response.put("message", "User not authenticated");
                 return ResponseEntity.status(401).body(response);
             }
-
-            String username = authentication.getName();
-            Optional<User> userOptional = userRepository.findByUsername(username);
-            
-            if (!userOptional.isPresent()) {
-                response.put("success", false);
-                response.put("message", "User not found");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            User user = userOptional.get();
+            Long userId = currentUser.get().getId();
 
             List<AttendanceEntry> entries;
             
@@ -227,9 +170,9 @@ public class AttendanceController {
                 LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
                 LocalDateTime end = LocalDate.parse(endDate).plusDays(1).atStartOfDay();
                 entries = attendanceEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
-                    user.getId(), start, end);
+                    userId, start, end);
             } else {
-                entries = attendanceEntryRepository.findByUserIdOrderByTimestampDesc(user.getId());
+                entries = attendanceEntryRepository.findByUserIdOrderByTimestampDesc(userId);
             }
 
             response.put("success", true);
@@ -249,26 +192,15 @@ public class AttendanceController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
+            Optional<AuthenticatedUser> currentUser = currentUserResolver.findCurrentUser();
+            if (currentUser.isEmpty()) {
                 response.put("success", false);
                 response.put("message", "User not authenticated");
                 return ResponseEntity.status(401).body(response);
             }
+            Long userId = currentUser.get().getId();
 
-            String username = authentication.getName();
-            Optional<User> userOptional = userRepository.findByUsername(username);
-            
-            if (!userOptional.isPresent()) {
-                response.put("success", false);
-                response.put("message", "User not found");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            User user = userOptional.get();
-
-            List<AttendanceEntry> todayEntries = attendanceEntryRepository.findByUserIdAndDate(
-                user.getId(), LocalDate.now());
+            List<AttendanceEntry> todayEntries = attendanceService.getEntriesForDay(userId, LocalDate.now());
 
             response.put("success", true);
             response.put("entries", todayEntries);
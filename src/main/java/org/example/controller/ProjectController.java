@@ -1,15 +1,19 @@
 package org.example.controller;
 
 import org.example.dto.ProjectCreateDto;
+import org.example.dto.ProjectFilter;
 import org.example.dto.ProjectUpdateDto;
 import org.example.dto.TaskCreateDto;
+import org.example.dto.TaskRowDto;
 import org.example.models.Project;
-import org.example.models.Task;
+import org.example.service.ProjectFacetService;
 import org.example.service.ProjectService;
+import org.example.service.SearchIndexService;
 import org.example.service.TaskService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize; // For method-level security
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,6 +23,8 @@ import org.springframework.validation.BindingResult;
 import jakarta.validation.Valid; // For DTO validation
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
@@ -33,11 +39,16 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final TaskService taskService;
+    private final ProjectFacetService projectFacetService;
+    private final SearchIndexService searchIndexService;
 
     @Autowired
-    public ProjectController(ProjectService projectService, TaskService taskService) {
+    public ProjectController(ProjectService projectService, TaskService taskService,
+                             ProjectFacetService projectFacetService, SearchIndexService searchIndexService) {
         this.projectService = projectService;
         this.taskService = taskService;
+        this.projectFacetService = projectFacetService;
+        this.searchIndexService = searchIndexService;
     }
 
     @GetMapping("/health")
@@ -91,6 +102,31 @@ public class ProjectController {
         }
     }
 
+    @GetMapping("/summaries")
+    public ResponseEntity<Map<String, Object>> listProjectSummaries(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                logger.warn("Unauthenticated request to list project summaries");
+                return ResponseEntity.status(401).build();
+            }
+
+            String username = authentication.getName();
+            Map<String, Object> response = projectService.findProjectSummariesByOrganization(
+                username, afterId, Math.min(limit, 500));
+
+            logger.debug("Listed project summaries for user {} after ID {}", username, afterId);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error listing project summaries: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to retrieve projects"));
+        }
+    }
+
     @GetMapping("/paginated")
     public ResponseEntity<Map<String, Object>> listProjectsPaginated(
             @RequestParam(defaultValue = "0") int page,
@@ -98,6 +134,13 @@ public class ProjectController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String priority,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String stage,
+            @RequestParam(required = false) String clientName,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
+            @RequestParam(required = false) BigDecimal budgetMin,
+            @RequestParam(required = false) BigDecimal budgetMax,
             Authentication authentication) {
         try {
             if (authentication == null || !authentication.isAuthenticated()) {
@@ -109,19 +152,82 @@ public class ProjectController {
             logger.info("Attempting to list paginated projects for user: {} (page: {}, size: {}, category: {}, priority: {}, status: {})", 
                        username, page, size, category, priority, status);
             
+            ProjectFilter filter = projectService.buildFilter(category, priority, status, stage, clientName, location,
+                    startDateFrom, startDateTo, budgetMin, budgetMax);
             Map<String, Object> response = projectService.findProjectsPaginatedAndFiltered(
-                username, page, size, category, priority, status);
+                username, page, size, filter);
             
             logger.info("Successfully listed paginated projects for user {}. Found: {} projects on page {} of {}", 
                        username, response.get("totalItems"), page + 1, response.get("totalPages"));
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project filter: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error listing paginated projects: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Failed to retrieve projects"));
         }
     }
 
+    // Typeahead search over project names, clients and locations in the caller's organization
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> searchProjects(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "9") int size) {
+        try {
+            return ResponseEntity.ok(searchIndexService.searchProjects(query, page, size));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project search parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error searching projects: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to search projects"));
+        }
+    }
+
+    /**
+     * The same filtered page as {@code /paginated} plus project counts per category, priority, status and
+     * stage, so the grid can label every filter option in one request.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> listProjectsWithFacets(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "9") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String stage,
+            @RequestParam(required = false) String clientName,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
+            @RequestParam(required = false) BigDecimal budgetMin,
+            @RequestParam(required = false) BigDecimal budgetMax,
+            Authentication authentication) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                logger.warn("Unauthenticated request to list project facets");
+                return ResponseEntity.status(401).build();
+            }
+
+            ProjectFilter filter = projectService.buildFilter(category, priority, status, stage, clientName, location,
+                    startDateFrom, startDateTo, budgetMin, budgetMax);
+            Map<String, Object> response = new HashMap<>(projectService.findProjectsPaginatedAndFiltered(
+                authentication.getName(), page, size, filter));
+            response.put("facets", projectFacetService.getFacets(filter));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project filter: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error listing project facets: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to retrieve projects"));
+        }
+    }
+
     @GetMapping("/new")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> showCreateProjectForm() {
@@ -172,7 +278,9 @@ public class ProjectController {
     @GetMapping("/{id}/details")
     public ResponseEntity<?> showProjectDetails(@PathVariable("id") Long projectId,
                                                 @RequestParam(defaultValue = "0") int page,
-                                                @RequestParam(defaultValue = "12") int size) {
+                                                @RequestParam(defaultValue = "12") int size,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "false") boolean includeTotal) {
         Optional<Project> projectOptional = projectService.findById(projectId);
         if (projectOptional.isEmpty()) {
             logger.warn("Attempted to view details for non-existent project ID: {}", projectId);
@@ -183,7 +291,9 @@ public class ProjectController {
         // Fetch and add tasks for this project with detailed information
         Map<String, Object> paginatedTasks;
         try {
-            paginatedTasks = taskService.getTasksByProjectIdPaginated(projectId, page, size);
+            paginatedTasks = cursor != null
+                    ? taskService.getTasksByProjectIdByCursor(projectId, cursor, size, includeTotal)
+                    : taskService.getTasksByProjectIdPaginated(projectId, page, size);
         } catch (IllegalArgumentException ex) {
             logger.warn("Invalid pagination parameters for project {} details: {}", projectId, ex.getMessage());
             return ResponseEntity.badRequest().body(Map.of(
@@ -192,11 +302,11 @@ public class ProjectController {
             ));
         }
         @SuppressWarnings("unchecked")
-        List<Task> tasks = (List<Task>) paginatedTasks.getOrDefault("tasks", List.of());
+        List<TaskRowDto> tasks = (List<TaskRowDto>) paginatedTasks.getOrDefault("tasks", List.of());
         List<Map<String, Object>> taskResponses = new ArrayList<>();
         
-        for (Task task : tasks) {
-            Map<String, Object> taskResponse = buildTaskResponse(task);
+        for (TaskRowDto task : tasks) {
+            Map<String, Object> taskResponse = TaskRowDto.toResponse(task);
             taskResponses.add(taskResponse);
         }
 
@@ -330,61 +440,4 @@ public class ProjectController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-    
-    /**
-     * Helper method to build a task response with all related information
-     */
-    private Map<String, Object> buildTaskResponse(Task task) {
-        Map<String, Object> taskResponse = new HashMap<>();
-        taskResponse.put("id", task.getId());
-        taskResponse.put("name", task.getName());
-        taskResponse.put("description", task.getDescription());
-        taskResponse.put("status", task.getStatus());
-        taskResponse.put("projectStage", task.getProjectStage());
-        taskResponse.put("priority", task.getPriority());
-        taskResponse.put("dueDate", task.getDueDate());
-        taskResponse.put("createdAt", task.getCreatedAt());
-        taskResponse.put("updatedAt", task.getUpdatedAt());
-        
-        // Add project information
-        if (task.getProject() != null) {
-            Map<String, Object> projectInfo = new HashMap<>();
-            projectInfo.put("id", task.getProject().getId());
-            projectInfo.put("name", task.getProject().getName());
-            projectInfo.put("clientName", task.getProject().getClientName());
-            taskResponse.put("project", projectInfo);
-        }
-        
-        // Add assignee information
-        if (task.getAssignee() != null) {
-            Map<String, Object> assigneeInfo = new HashMap<>();
-            assigneeInfo.put("id", task.getAssignee().getId());
-            assigneeInfo.put("username", task.getAssignee().getUsername());
-            assigneeInfo.put("name", task.getAssignee().getName());
-            assigneeInfo.put("email", task.getAssignee().getEmail());
-            taskResponse.put("assignee", assigneeInfo);
-        }
-        
-        // Add reporter information
-        if (task.getReporter() != null) {
-            Map<String, Object> reporterInfo = new HashMap<>();
-            reporterInfo.put("id", task.getReporter().getId());
-            reporterInfo.put("username", task.getReporter().getUsername());
-            reporterInfo.put("name", task.getReporter().getName());
-            reporterInfo.put("email", task.getReporter().getEmail());
-            taskResponse.put("reporter", reporterInfo);
-        }
-        
-        // Add checked by information
-        if (task.getCheckedBy() != null) {
-            Map<String, Object> checkedByInfo = new HashMap<>();
-            checkedByInfo.put("id", task.getCheckedBy().getId());
-            checkedByInfo.put("username", task.getCheckedBy().getUsername());
-            checkedByInfo.put("name", task.getCheckedBy().getName());
-            checkedByInfo.put("email", task.getCheckedBy().getEmail());
-            taskResponse.put("checkedBy", checkedByInfo);
-        }
-        
-        return taskResponse;
-    }
 }
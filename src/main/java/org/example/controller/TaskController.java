@@ -1,16 +1,29 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.TaskBulkOperationDto;
+import org.example.dto.TaskRowDto;
 import org.example.models.Task;
 import org.example.models.enums.TaskStatus;
+import org.example.service.SearchIndexService;
 import org.example.service.TaskService;
+import org.example.service.UserDirectoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -28,18 +41,26 @@ public class TaskController {
 
     private final TaskService taskService;
     private final TimeLogService timeLogService;
+    private final SearchIndexService searchIndexService;
+    private final UserDirectoryService userDirectoryService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public TaskController(TaskService taskService, TimeLogService timeLogService) {
+    public TaskController(TaskService taskService, TimeLogService timeLogService,
+                          SearchIndexService searchIndexService, UserDirectoryService userDirectoryService,
+                          ObjectMapper objectMapper) {
         this.taskService = taskService;
         this.timeLogService = timeLogService;
+        this.searchIndexService = searchIndexService;
+        this.userDirectoryService = userDirectoryService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/{taskId}/details")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getTaskDetails(@PathVariable Long taskId) {
         try {
-            Optional<Task> taskOptional = taskService.findTaskById(taskId);
+            Optional<TaskRowDto> taskOptional = taskService.findTaskRowById(taskId);
             if (taskOptional.isEmpty()) {
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("success", false);
@@ -47,61 +68,9 @@ public class TaskController {
                 return ResponseEntity.notFound().build();
             }
 
-            Task task = taskOptional.get();
-            
-            // Build a detailed response that includes related entities
-            Map<String, Object> taskDetails = new HashMap<>();
-            taskDetails.put("id", task.getId());
-            taskDetails.put("name", task.getName());
-            taskDetails.put("description", task.getDescription());
-            taskDetails.put("status", task.getStatus());
-            taskDetails.put("projectStage", task.getProjectStage());
-            taskDetails.put("priority", task.getPriority());
-            taskDetails.put("dueDate", task.getDueDate());
-            taskDetails.put("createdAt", task.getCreatedAt());
-            taskDetails.put("updatedAt", task.getUpdatedAt());
-            
-            // Add project information
-            if (task.getProject() != null) {
-                Map<String, Object> projectInfo = new HashMap<>();
-                projectInfo.put("id", task.getProject().getId());
-                projectInfo.put("name", task.getProject().getName());
-                projectInfo.put("clientName", task.getProject().getClientName());
-                taskDetails.put("project", projectInfo);
-            }
-            
-            // Add assignee information
-            if (task.getAssignee() != null) {
-                Map<String, Object> assigneeInfo = new HashMap<>();
-                assigneeInfo.put("id", task.getAssignee().getId());
-                assigneeInfo.put("username", task.getAssignee().getUsername());
-                assigneeInfo.put("name", task.getAssignee().getName());
-                assigneeInfo.put("email", task.getAssignee().getEmail());
-                taskDetails.put("assignee", assigneeInfo);
-            }
-            
-            // Add reporter information
-            if (task.getReporter() != null) {
-                Map<String, Object> reporterInfo = new HashMap<>();
-                reporterInfo.put("id", task.getReporter().getId());
-                reporterInfo.put("username", task.getReporter().getUsername());
-                reporterInfo.put("name", task.getReporter().getName());
-                reporterInfo.put("email", task.getReporter().getEmail());
-                taskDetails.put("reporter", reporterInfo);
-            }
-            
-            // Add checked by information
-            if (task.getCheckedBy() != null) {
-                Map<String, Object> checkedByInfo = new HashMap<>();
-                checkedByInfo.put("id", task.getCheckedBy().getId());
-                checkedByInfo.put("username", task.getCheckedBy().getUsername());
-                checkedByInfo.put("name", task.getCheckedBy().getName());
-                checkedByInfo.put("email", task.getCheckedBy().getEmail());
-                taskDetails.put("checkedBy", checkedByInfo);
-            }
-            
-            // Add time logs
-            taskDetails.put("timeLogs", task.getTimeLogs());
+            // Task, project and related users come from one query; time logs and their users from a second
+            Map<String, Object> taskDetails = TaskRowDto.toResponse(taskOptional.get());
+            taskDetails.put("timeLogs", timeLogService.getTimeLogsWithUsersForTask(taskId));
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -118,34 +87,56 @@ public class TaskController {
         }
     }
 
+    /**
+     * Streams the caller's organization's tasks as a JSON array, one row at a time.
+     */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<Task>> getAllTasks() {
-        try {
-            List<Task> tasks = taskService.getAllTasks();
-            logger.info("Retrieved {} tasks", tasks.size());
-            return ResponseEntity.ok(tasks);
-        } catch (Exception e) {
-            logger.error("Error retrieving all tasks: {}", e.getMessage(), e);
-            throw e;
-        }
+    public ResponseEntity<StreamingResponseBody> getAllTasks() {
+        // Resolved on the request thread; the body runs on an async thread without the security context
+        Long organizationId = taskService.getCurrentUserOrganizationId();
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartArray();
+                long count = taskService.forEachTaskRowInOrganization(organizationId, task -> {
+                    try {
+                        generator.writeObject(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                logger.info("Streamed {} tasks for organization {}", count, organizationId);
+            } catch (UncheckedIOException e) {
+                logger.warn("Task stream for organization {} aborted: {}", organizationId, e.getMessage());
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/paginated")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> getAllTasksPaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Map<String, Object> response = taskService.getAllTasksPaginated(page, size);
+            // Presence of "cursor" (empty for the first page) selects keyset mode instead of page/offset
+            Map<String, Object> response = cursor != null
+                    ? taskService.getAllTasksByCursor(cursor, size, includeTotal)
+                    : taskService.getAllTasksPaginated(page, size);
             
             // Convert tasks to include assignee and checkedBy information
             @SuppressWarnings("unchecked")
-            List<Task> tasks = (List<Task>) response.get("tasks");
+            List<TaskRowDto> tasks = (List<TaskRowDto>) response.get("tasks");
             List<Map<String, Object>> taskResponses = new ArrayList<>();
             
-            for (Task task : tasks) {
-                Map<String, Object> taskResponse = buildTaskResponse(task);
+            for (TaskRowDto task : tasks) {
+                Map<String, Object> taskResponse = TaskRowDto.toResponse(task);
                 taskResponses.add(taskResponse);
             }
             
@@ -154,26 +145,61 @@ public class TaskController {
             logger.info("Retrieved paginated tasks - page: {}, size: {}, total: {}", 
                        page, size, response.get("totalItems"));
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid pagination parameters for paginated tasks: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error retrieving paginated tasks: {}", e.getMessage(), e);
             throw e;
         }
     }
 
+    // Typeahead search over task names and descriptions in the caller's organization, best matches first
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Map<String, Object> response = searchIndexService.searchTasks(query, page, size);
+
+            @SuppressWarnings("unchecked")
+            List<TaskRowDto> tasks = (List<TaskRowDto>) response.get("tasks");
+            List<Map<String, Object>> taskResponses = new ArrayList<>();
+            for (TaskRowDto task : tasks) {
+                taskResponses.add(TaskRowDto.toResponse(task));
+            }
+            response.put("tasks", taskResponses);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid task search parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error searching tasks: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @GetMapping("/assigned-to-me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> getTasksAssignedToCurrentUser(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Map<String, Object> response = taskService.getTasksAssignedToCurrentUserPaginated(page, size);
+            // Presence of "cursor" (empty for the first page) selects keyset mode instead of page/offset
+            Map<String, Object> response = cursor != null
+                    ? taskService.getTasksAssignedToCurrentUserByCursor(cursor, size, includeTotal)
+                    : taskService.getTasksAssignedToCurrentUserPaginated(page, size);
 
             @SuppressWarnings("unchecked")
-            List<Task> tasks = (List<Task>) response.get("tasks");
+            List<TaskRowDto> tasks = (List<TaskRowDto>) response.get("tasks");
             List<Map<String, Object>> taskResponses = new ArrayList<>();
 
-            for (Task task : tasks) {
-                Map<String, Object> taskResponse = buildTaskResponse(task);
+            for (TaskRowDto task : tasks) {
+                Map<String, Object> taskResponse = TaskRowDto.toResponse(task);
                 taskResponses.add(taskResponse);
             }
 
@@ -182,6 +208,9 @@ public class TaskController {
             logger.info("Retrieved paginated tasks assigned to current user - page: {}, size: {}, total: {}",
                     page, size, response.get("totalItems"));
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid pagination parameters for tasks assigned to current user: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error retrieving tasks assigned to current user: {}", e.getMessage(), e);
             throw e;
@@ -192,16 +221,21 @@ public class TaskController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> getTasksReportedByCurrentUser(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Map<String, Object> response = taskService.getTasksReportedByCurrentUserPaginated(page, size);
+            // Presence of "cursor" (empty for the first page) selects keyset mode instead of page/offset
+            Map<String, Object> response = cursor != null
+                    ? taskService.getTasksReportedByCurrentUserByCursor(cursor, size, includeTotal)
+                    : taskService.getTasksReportedByCurrentUserPaginated(page, size);
 
             @SuppressWarnings("unchecked")
-            List<Task> tasks = (List<Task>) response.get("tasks");
+            List<TaskRowDto> tasks = (List<TaskRowDto>) response.get("tasks");
             List<Map<String, Object>> taskResponses = new ArrayList<>();
 
-            for (Task task : tasks) {
-                Map<String, Object> taskResponse = buildTaskResponse(task);
+            for (TaskRowDto task : tasks) {
+                Map<String, Object> taskResponse = TaskRowDto.toResponse(task);
                 taskResponses.add(taskResponse);
             }
 
@@ -210,6 +244,9 @@ public class TaskController {
             logger.info("Retrieved paginated tasks reported by current user - page: {}, size: {}, total: {}",
                     page, size, response.get("totalItems"));
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid pagination parameters for tasks reported by current user: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error retrieving tasks reported by current user: {}", e.getMessage(), e);
             throw e;
@@ -220,16 +257,21 @@ public class TaskController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> getTasksToCheckByCurrentUser(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Map<String, Object> response = taskService.getTasksToCheckByCurrentUserPaginated(page, size);
+            // Presence of "cursor" (empty for the first page) selects keyset mode instead of page/offset
+            Map<String, Object> response = cursor != null
+                    ? taskService.getTasksToCheckByCurrentUserByCursor(cursor, size, includeTotal)
+                    : taskService.getTasksToCheckByCurrentUserPaginated(page, size);
 
             @SuppressWarnings("unchecked")
-            List<Task> tasks = (List<Task>) response.get("tasks");
+            List<TaskRowDto> tasks = (List<TaskRowDto>) response.get("tasks");
             List<Map<String, Object>> taskResponses = new ArrayList<>();
 
-            for (Task task : tasks) {
-                Map<String, Object> taskResponse = buildTaskResponse(task);
+            for (TaskRowDto task : tasks) {
+                Map<String, Object> taskResponse = TaskRowDto.toResponse(task);
                 taskResponses.add(taskResponse);
             }
 
@@ -238,6 +280,9 @@ public class TaskController {
             logger.info("Retrieved paginated tasks to check by current user - page: {}, size: {}, total: {}",
                     page, size, response.get("totalItems"));
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid pagination parameters for tasks to check by current user: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error retrieving tasks to check by current user: {}", e.getMessage(), e);
             throw e;
@@ -277,12 +322,28 @@ public class TaskController {
             
             logger.info("Updated task ID: {}", taskId);
             return ResponseEntity.ok(response);
+        } catch (TaskService.StatusConflictException e) {
+            logger.warn("Status conflict for task ID {}: {}", taskId, e.getMessage());
+            return statusConflictResponse(e);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Concurrent update of task ID {}: {}", taskId, e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Task was changed by someone else. Reload it and try again.");
+            return ResponseEntity.status(409).body(errorResponse);
         } catch (IllegalArgumentException e) {
             logger.error("Error updating task ID {}: {}", taskId, e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
             errorResponse.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
+        } catch (IllegalStateException e) {
+            // Only the assigned checker may move a task to CHECKED
+            logger.error("Error updating task ID {}: {}", taskId, e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             logger.error("Error updating task ID {}: {}", taskId, e.getMessage(), e);
             Map<String, Object> errorResponse = new HashMap<>();
@@ -306,7 +367,10 @@ public class TaskController {
             }
 
             TaskStatus status = TaskStatus.valueOf(statusStr);
-            Optional<Task> updatedTask = taskService.updateTaskStatus(taskId, status);
+            // Optional: the status the client last saw, so a stale board cannot overwrite a newer change
+            String expectedStr = statusRequest.get("expectedStatus");
+            TaskStatus expectedStatus = expectedStr != null ? TaskStatus.valueOf(expectedStr) : null;
+            Optional<Task> updatedTask = taskService.updateTaskStatus(taskId, status, expectedStatus);
             
             if (updatedTask.isPresent()) {
                 Map<String, Object> response = new HashMap<>();
@@ -322,6 +386,9 @@ public class TaskController {
                 errorResponse.put("message", "Task not found");
                 return ResponseEntity.notFound().build();
             }
+        } catch (TaskService.StatusConflictException e) {
+            logger.warn("Status conflict for task ID {}: {}", taskId, e.getMessage());
+            return statusConflictResponse(e);
         } catch (IllegalArgumentException e) {
             logger.error("Error updating task status for task ID {}: {}", taskId, e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -358,6 +425,9 @@ public class TaskController {
                 errorResponse.put("message", "Task not found or you are not authorized to check this task");
                 return ResponseEntity.notFound().build();
             }
+        } catch (TaskService.StatusConflictException e) {
+            logger.warn("Status conflict for task ID {}: {}", taskId, e.getMessage());
+            return statusConflictResponse(e);
         } catch (IllegalStateException e) {
             logger.error("Error marking task as checked for task ID {}: {}", taskId, e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -373,6 +443,50 @@ public class TaskController {
         }
     }
 
+    private ResponseEntity<Map<String, Object>> statusConflictResponse(TaskService.StatusConflictException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("currentStatus", e.getActualStatus());
+        return ResponseEntity.status(409).body(errorResponse);
+    }
+
+    /**
+     * Applies one change (status, stage, assignee or delete) to a selection of tasks in a single transaction.
+     * Tasks the caller may not edit are skipped and reported, not treated as a failure of the whole request.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> applyBulkOperation(@RequestBody TaskBulkOperationDto request) {
+        try {
+            Map<Long, TaskService.BulkOutcome> results = taskService.applyBulkOperation(request);
+            long applied = results.values().stream()
+                    .filter(outcome -> outcome == TaskService.BulkOutcome.UPDATED
+                            || outcome == TaskService.BulkOutcome.DELETED)
+                    .count();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("applied", applied);
+            response.put("results", results);
+
+            logger.info("Bulk {} applied to {} of {} tasks", request.getOperation(), applied, results.size());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid bulk task operation: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error applying bulk task operation: {}", e.getMessage(), e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to apply bulk operation");
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+
     @DeleteMapping("/{taskId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> deleteTask(@PathVariable Long taskId) {
@@ -475,27 +589,24 @@ public class TaskController {
 
     @GetMapping("/users")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getUsersForTaskAssignment() {
+    public ResponseEntity<?> getUsersForTaskAssignment(@RequestParam(required = false) String q,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       WebRequest webRequest) {
         try {
-            // Get users for task assignment from the same organization as current user
+            // Users of the current user's organization, served from the cached directory
             // This endpoint is accessible to all authenticated users
-            List<org.example.models.User> users = taskService.getAllUsersForTaskAssignment();
-            
-            List<Map<String, Object>> userList = users.stream()
-                .map(user -> {
-                    Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("id", user.getId());
-                    userMap.put("username", user.getUsername());
-                    userMap.put("name", user.getName() != null ? user.getName() : user.getUsername());
-                    userMap.put("email", user.getEmail());
-                    return userMap;
-                })
-                .collect(java.util.stream.Collectors.toList());
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "users", userList
-            ));
+            UserDirectoryService.Directory directory = userDirectoryService.getDirectoryForCurrentUser();
+            if (webRequest.checkNotModified(directory.getEtag())) {
+                return null;
+            }
+
+            return ResponseEntity.ok()
+                .eTag(directory.getEtag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(Map.of(
+                    "success", true,
+                    "users", directory.search(q, limit)
+                ));
         } catch (IllegalStateException e) {
             logger.error("User organization error: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -504,62 +615,5 @@ public class TaskController {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch users"));
         }
     }
-    
-    /**
-     * Helper method to build a task response with all related information
-     */
-    private Map<String, Object> buildTaskResponse(Task task) {
-        Map<String, Object> taskResponse = new HashMap<>();
-        taskResponse.put("id", task.getId());
-        taskResponse.put("name", task.getName());
-        taskResponse.put("description", task.getDescription());
-        taskResponse.put("status", task.getStatus());
-        taskResponse.put("projectStage", task.getProjectStage());
-        taskResponse.put("priority", task.getPriority());
-        taskResponse.put("dueDate", task.getDueDate());
-        taskResponse.put("createdAt", task.getCreatedAt());
-        taskResponse.put("updatedAt", task.getUpdatedAt());
-        
-        // Add project information
-        if (task.getProject() != null) {
-            Map<String, Object> projectInfo = new HashMap<>();
-            projectInfo.put("id", task.getProject().getId());
-            projectInfo.put("name", task.getProject().getName());
-            projectInfo.put("clientName", task.getProject().getClientName());
-            taskResponse.put("project", projectInfo);
-        }
-        
-        // Add assignee information
-        if (task.getAssignee() != null) {
-            Map<String, Object> assigneeInfo = new HashMap<>();
-            assigneeInfo.put("id", task.getAssignee().getId());
-            assigneeInfo.put("username", task.getAssignee().getUsername());
-            assigneeInfo.put("name", task.getAssignee().getName());
-            assigneeInfo.put("email", task.getAssignee().getEmail());
-            taskResponse.put("assignee", assigneeInfo);
-        }
-        
-        // Add reporter information
-        if (task.getReporter() != null) {
-            Map<String, Object> reporterInfo = new HashMap<>();
-            reporterInfo.put("id", task.getReporter().getId());
-            reporterInfo.put("username", task.getReporter().getUsername());
-            reporterInfo.put("name", task.getReporter().getName());
-            reporterInfo.put("email", task.getReporter().getEmail());
-            taskResponse.put("reporter", reporterInfo);
-        }
-        
-        // Add checked by information
-        if (task.getCheckedBy() != null) {
-            Map<String, Object> checkedByInfo = new HashMap<>();
-            checkedByInfo.put("id", task.getCheckedBy().getId());
-            checkedByInfo.put("username", task.getCheckedBy().getUsername());
-            checkedByInfo.put("name", task.getCheckedBy().getName());
-            checkedByInfo.put("email", task.getCheckedBy().getEmail());
-            taskResponse.put("checkedBy", checkedByInfo);
-        }
-        
-        return taskResponse;
-    }
 
 }
@@ -0,0 +1,109 @@
+package org.example.controller;
+
+import org.example.dto.TimeExportFilter;
+import org.example.service.TimeExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming CSV/NDJSON exports of time logs and time entries, scoped to the caller's organization.
+ */
+@RestController
+@RequestMapping("/api/exports")
+public class TimeExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeExportController.class);
+
+    private final TimeExportService timeExportService;
+
+    @Autowired
+    public TimeExportController(TimeExportService timeExportService) {
+        this.timeExportService = timeExportService;
+    }
+
+    @GetMapping("/timelogs")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> exportTimeLogs(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("timelogs", format, userId, projectId, startDate, endDate, gzip, true);
+    }
+
+    @GetMapping("/time-entries")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> exportTimeEntries(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("time-entries", format, userId, projectId, startDate, endDate, gzip, false);
+    }
+
+    private ResponseEntity<?> export(String name, String format, Long userId,
+                                     Long projectId, LocalDate startDate, LocalDate endDate, boolean gzip,
+                                     boolean timeLogs) {
+        TimeExportService.Format exportFormat;
+        TimeExportFilter filter;
+        try {
+            exportFormat = TimeExportService.Format.parse(format);
+            // Resolved on the request thread; the body below runs on an async thread without the security context
+            filter = timeExportService.buildFilter(userId, projectId, startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error preparing {} export: {}", name, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to prepare export"));
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                write(filter, exportFormat, gzipStream, timeLogs);
+                gzipStream.finish();
+            } else {
+                write(filter, exportFormat, outputStream, timeLogs);
+            }
+        };
+
+        String filename = name + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(body);
+    }
+
+    private void write(TimeExportFilter filter, TimeExportService.Format format,
+                       OutputStream out, boolean timeLogs) throws IOException {
+        if (timeLogs) {
+            timeExportService.writeTimeLogs(filter, format, out);
+        } else {
+            timeExportService.writeTimeEntries(filter, format, out);
+        }
+    }
+}
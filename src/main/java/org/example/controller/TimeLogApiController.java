@@ -0,0 +1,107 @@
+package org.example.controller;
+
+import org.example.dto.TimeLogDto;
+import org.example.service.TimeLogRollupService;
+import org.example.service.TimeLogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/timelogs")
+public class TimeLogApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeLogApiController.class);
+
+    private final TimeLogService timeLogService;
+    private final TimeLogRollupService timeLogRollupService;
+
+    @Autowired
+    public TimeLogApiController(TimeLogService timeLogService, TimeLogRollupService timeLogRollupService) {
+        this.timeLogService = timeLogService;
+        this.timeLogRollupService = timeLogRollupService;
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> logTimeBatch(@RequestBody List<TimeLogDto> timeLogs) {
+        try {
+            Map<String, Object> response = new HashMap<>(timeLogService.logTimeBatch(timeLogs));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error importing time log batch: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to import time logs"));
+        }
+    }
+
+    @GetMapping("/summary/task/{taskId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> getTaskSummary(@PathVariable Long taskId) {
+        try {
+            Map<String, Object> response = new HashMap<>(timeLogRollupService.getTaskSummary(taskId));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error building hour summary for task {}: {}", taskId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to load task hour summary"));
+        }
+    }
+
+    @GetMapping("/summary/project/{projectId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> getProjectSummary(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            Map<String, Object> response = new HashMap<>(timeLogRollupService.getProjectSummary(projectId, startDate, endDate));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error building hour summary for project {}: {}", projectId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to load project hour summary"));
+        }
+    }
+
+    // Tenant admins rebuild their own organization's rows only; the full table is rebuilt by the nightly job
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildRollups() {
+        try {
+            int rows = timeLogRollupService.rebuildCurrentOrganization();
+            return ResponseEntity.ok(Map.of("success", true, "rows", rows));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error rebuilding time log rollups: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to rebuild time log rollups"));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.dto;
+
+import org.example.models.enums.ProjectCategory;
+import org.example.models.enums.ProjectPriority;
+import org.example.models.enums.ProjectStage;
+import org.example.models.enums.ProjectStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resolved filter for project listings. Every field is optional (null means no restriction); the
+ * organization is always the caller's and is applied separately.
+ * Client name and location match by prefix; the date range applies to the start date.
+ */
+public class ProjectFilter {
+
+    private final ProjectCategory category;
+    private final ProjectPriority priority;
+    private final ProjectStatus status;
+    private final ProjectStage stage;
+    private final String clientName;
+    private final String location;
+    private final LocalDate startDateFrom;
+    private final LocalDate startDateTo;
+    private final BigDecimal budgetMin;
+    private final BigDecimal budgetMax;
+
+    public ProjectFilter(ProjectCategory category, ProjectPriority priority, ProjectStatus status, ProjectStage stage,
+                         String clientName, String location, LocalDate startDateFrom, LocalDate startDateTo,
+                         BigDecimal budgetMin, BigDecimal budgetMax) {
+        this.category = category;
+        this.priority = priority;
+        this.status = status;
+        this.stage = stage;
+        this.clientName = clientName;
+        this.location = location;
+        this.startDateFrom = startDateFrom;
+        this.startDateTo = startDateTo;
+        this.budgetMin = budgetMin;
+        this.budgetMax = budgetMax;
+    }
+
+    /**
+     * @return Whether any filter other than category, priority, status and stage is set.
+     */
+    public boolean hasAttributeFilters() {
+        return clientName != null || location != null || startDateFrom != null || startDateTo != null
+                || budgetMin != null || budgetMax != null;
+    }
+
+    public ProjectCategory getCategory() {
+        return category;
+    }
+
+    public ProjectPriority getPriority() {
+        return priority;
+    }
+
+    public ProjectStatus getStatus() {
+        return status;
+    }
+
+    public ProjectStage getStage() {
+        return stage;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDate getStartDateFrom() {
+        return startDateFrom;
+    }
+
+    public LocalDate getStartDateTo() {
+        return startDateTo;
+    }
+
+    public BigDecimal getBudgetMin() {
+        return budgetMin;
+    }
+
+    public BigDecimal getBudgetMax() {
+        return budgetMax;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.dto;
+
+import org.example.models.enums.ProjectStage;
+import org.example.models.enums.TaskStatus;
+
+import java.util.List;
+
+/**
+ * One change applied to many tasks at once. Only the field matching the operation is read:
+ * {@code status} for STATUS, {@code projectStage} for STAGE, {@code assigneeId} for ASSIGN (null unassigns).
+ */
+public class TaskBulkOperationDto {
+
+    public enum Operation {
+        STATUS,
+        STAGE,
+        ASSIGN,
+        DELETE
+    }
+
+    private Operation operation;
+
+    private List<Long> taskIds;
+
+    private TaskStatus status;
+
+    private ProjectStage projectStage;
+
+    private Long assigneeId;
+
+    // Getters and Setters
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public ProjectStage getProjectStage() {
+        return projectStage;
+    }
+
+    public void setProjectStage(ProjectStage projectStage) {
+        this.projectStage = projectStage;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.dto;
+
+import org.example.models.enums.ProjectStage;
+import org.example.models.enums.TaskPriority;
+import org.example.models.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read model for task listings and task details.
+ * Populated by a JPQL constructor expression that joins the project, assignee, reporter
+ * and checker in the same statement, so rendering a page never touches lazy proxies.
+ */
+public class TaskRowDto {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final TaskStatus status;
+    private final ProjectStage projectStage;
+    private final TaskPriority priority;
+    private final LocalDate dueDate;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    private final Long projectId;
+    private final String projectName;
+    private final String projectClientName;
+
+    private final UserSummary assignee;
+    private final UserSummary reporter;
+    private final UserSummary checkedBy;
+
+    public TaskRowDto(Long id, String name, String description, TaskStatus status, ProjectStage projectStage,
+                      TaskPriority priority, LocalDate dueDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                      Long projectId, String projectName, String projectClientName,
+                      Long assigneeId, String assigneeUsername, String assigneeName, String assigneeEmail,
+                      Long reporterId, String reporterUsername, String reporterName, String reporterEmail,
+                      Long checkedById, String checkedByUsername, String checkedByName, String checkedByEmail) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.projectStage = projectStage;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.projectClientName = projectClientName;
+        this.assignee = UserSummary.of(assigneeId, assigneeUsername, assigneeName, assigneeEmail);
+        this.reporter = UserSummary.of(reporterId, reporterUsername, reporterName, reporterEmail);
+        this.checkedBy = UserSummary.of(checkedById, checkedByUsername, checkedByName, checkedByEmail);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public ProjectStage getProjectStage() {
+        return projectStage;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public String getProjectClientName() {
+        return projectClientName;
+    }
+
+    public UserSummary getAssignee() {
+        return assignee;
+    }
+
+    public UserSummary getReporter() {
+        return reporter;
+    }
+
+    public UserSummary getCheckedBy() {
+        return checkedBy;
+    }
+
+    /**
+     * JSON shape of a task shared by the task and project endpoints: the row's columns plus nested project,
+     * assignee, reporter and checkedBy objects, each omitted when absent.
+     */
+    public static Map<String, Object> toResponse(TaskRowDto task) {
+        Map<String, Object> taskResponse = new HashMap<>();
+        taskResponse.put("id", task.getId());
+        taskResponse.put("name", task.getName());
+        taskResponse.put("description", task.getDescription());
+        taskResponse.put("status", task.getStatus());
+        taskResponse.put("projectStage", task.getProjectStage());
+        taskResponse.put("priority", task.getPriority());
+        taskResponse.put("dueDate", task.getDueDate());
+        taskResponse.put("createdAt", task.getCreatedAt());
+        taskResponse.put("updatedAt", task.getUpdatedAt());
+
+        if (task.getProjectId() != null) {
+            Map<String, Object> projectInfo = new HashMap<>();
+            projectInfo.put("id", task.getProjectId());
+            projectInfo.put("name", task.getProjectName());
+            projectInfo.put("clientName", task.getProjectClientName());
+            taskResponse.put("project", projectInfo);
+        }
+
+        putUserInfo(taskResponse, "assignee", task.getAssignee());
+        putUserInfo(taskResponse, "reporter", task.getReporter());
+        putUserInfo(taskResponse, "checkedBy", task.getCheckedBy());
+        return taskResponse;
+    }
+
+    private static void putUserInfo(Map<String, Object> taskResponse, String key, UserSummary user) {
+        if (user != null) {
+            Map<String, Object> userInfo = new HashMap<>();
+            userInfo.put("id", user.getId());
+            userInfo.put("username", user.getUsername());
+            userInfo.put("name", user.getName());
+            userInfo.put("email", user.getEmail());
+            taskResponse.put(key, userInfo);
+        }
+    }
+
+    /**
+     * Id, username, name and email of a user related to a task; null when the relation is absent.
+     */
+    public static class UserSummary {
+        private final Long id;
+        private final String username;
+        private final String name;
+        private final String email;
+
+        private UserSummary(Long id, String username, String name, String email) {
+            this.id = id;
+            this.username = username;
+            this.name = name;
+            this.email = email;
+        }
+
+        static UserSummary of(Long id, String username, String name, String email) {
+            return id != null ? new UserSummary(id, username, name, email) : null;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Resolved filter for time log / time entry exports. The organization is always the caller's;
+ * userId and projectId are optional (null means all).
+ */
+public class TimeExportFilter {
+
+    private final Long organizationId;
+    private final Long userId;
+    private final Long projectId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public TimeExportFilter(Long organizationId, Long userId, Long projectId, LocalDate startDate, LocalDate endDate) {
+        this.organizationId = organizationId;
+        this.userId = userId;
+        this.projectId = projectId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance_entries")
+@Table(name = "attendance_entries", indexes = {
+        // Range scans for one user's month and latest-entry lookups
+        @Index(name = "idx_attendance_user_ts", columnList = "user_id, timestamp")
+})
 public class AttendanceEntry {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,82 @@
+package org.example.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Current clock-in/out state of a user, one row per user. Updated with a conditional UPDATE in the same
+ * transaction as each AttendanceEntry insert, so state checks need neither the latest-entry query nor
+ * a read-then-write race.
+ */
+@Entity
+@Table(name = "attendance_state")
+public class AttendanceState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_entry_type")
+    @Enumerated(EnumType.STRING)
+    private AttendanceEntry.EntryType lastEntryType; // Null until the first entry
+
+    @Column(name = "last_timestamp")
+    private LocalDateTime lastTimestamp;
+
+    @Column(name = "last_entry_id")
+    private Long lastEntryId;
+
+    public AttendanceState() {
+    }
+
+    /**
+     * Unsaved snapshot for users whose row has not been created yet; see AttendanceService.getState.
+     */
+    public AttendanceState(Long userId, AttendanceEntry.EntryType lastEntryType, LocalDateTime lastTimestamp,
+                           Long lastEntryId) {
+        this.userId = userId;
+        this.lastEntryType = lastEntryType;
+        this.lastTimestamp = lastTimestamp;
+        this.lastEntryId = lastEntryId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public AttendanceEntry.EntryType getLastEntryType() {
+        return lastEntryType;
+    }
+
+    public LocalDateTime getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public Long getLastEntryId() {
+        return lastEntryId;
+    }
+
+    /**
+     * @return true if the last entry is a clock-in made on {@code today}.
+     */
+    public boolean isClockedInOn(LocalDate today) {
+        return lastEntryType == AttendanceEntry.EntryType.CLOCK_IN
+                && lastTimestamp != null
+                && lastTimestamp.toLocalDate().equals(today);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AttendanceState that = (AttendanceState) o;
+        return Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId);
+    }
+}
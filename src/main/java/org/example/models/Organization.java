@@ -2,11 +2,17 @@ package org.example.models;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 import java.util.Set;
 
+// Resolved on nearly every tenant-scoped request via user.getOrganization(); cached in the second-level cache
 @Entity
 @Table(name = "organizations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "org.example.models.Organization")
 public class Organization {
     
     @Id
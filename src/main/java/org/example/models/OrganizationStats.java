@@ -0,0 +1,59 @@
+package org.example.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-organization counters shown on the admin dashboard. Maintained incrementally by
+ * OrganizationStatsService and periodically recomputed from the source tables.
+ */
+@Entity
+@Table(name = "organization_stats")
+public class OrganizationStats {
+
+    @Id
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @Column(name = "total_users", nullable = false)
+    private long totalUsers;
+
+    @Column(name = "total_projects", nullable = false)
+    private long totalProjects;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "active_projects", nullable = false)
+    private long activeProjects;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public OrganizationStats() {
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public long getTotalProjects() {
+        return totalProjects;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public long getActiveProjects() {
+        return activeProjects;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+}
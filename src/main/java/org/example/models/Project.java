@@ -14,7 +14,19 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        // Tenant-scoped listings and keyset scans: WHERE organization_id = ? AND id > ? ORDER BY id
+        @Index(name = "idx_projects_org_id", columnList = "organization_id, id"),
+        // Filtered listings (see ProjectSpecifications), newest first: the selective filters lead after the tenant
+        // and created_at follows so the page can be read in index order. Priority, stage and budget are left to
+        // the tenant range; they are rarely selective enough to earn their own index.
+        @Index(name = "idx_projects_org_created", columnList = "organization_id, created_at"),
+        @Index(name = "idx_projects_org_status_created", columnList = "organization_id, project_status, created_at"),
+        @Index(name = "idx_projects_org_category_created", columnList = "organization_id, project_category, created_at"),
+        @Index(name = "idx_projects_org_client", columnList = "organization_id, client_name"),
+        @Index(name = "idx_projects_org_location", columnList = "organization_id, location"),
+        @Index(name = "idx_projects_org_start", columnList = "organization_id, start_date")
+})
 public class Project {
 
     @Id
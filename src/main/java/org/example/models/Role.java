@@ -1,10 +1,16 @@
 package org.example.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.Set;
 
+// Near-immutable reference data: served from the second-level cache (region configured in application.conf)
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "org.example.models.Role")
 public class Role {
 
     @Id
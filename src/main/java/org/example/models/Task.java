@@ -13,7 +13,18 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Tenant-partitioned access: counts, listings and status breakdowns stay inside one organization's range
+        @Index(name = "idx_tasks_org_id", columnList = "organization_id, id"),
+        @Index(name = "idx_tasks_org_status", columnList = "organization_id, status"),
+        @Index(name = "idx_tasks_org_updated", columnList = "organization_id, updated_at, id"),
+        // Serve ORDER BY updated_at DESC, id DESC listings (offset and keyset) per filter
+        @Index(name = "idx_tasks_updated", columnList = "updated_at, id"),
+        @Index(name = "idx_tasks_project_updated", columnList = "project_id, updated_at, id"),
+        @Index(name = "idx_tasks_assignee_updated", columnList = "assignee_id, updated_at, id"),
+        @Index(name = "idx_tasks_reporter_updated", columnList = "reporter_id, updated_at, id"),
+        @Index(name = "idx_tasks_checker_status_updated", columnList = "checked_by_id, status, updated_at, id")
+})
 public class Task {
 
     @Id
@@ -31,6 +42,11 @@ public class Task {
     @Column(nullable = false, length = 20)
     private TaskStatus status;
 
+    // Optimistic lock for entity updates; status transitions bump it in their conditional UPDATE
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "project_stage", nullable = false)
     private ProjectStage projectStage;
@@ -47,6 +63,12 @@ public class Task {
     @JsonIgnore // Prevent Hibernate proxy serialization issues
     private Project project;
 
+    // Denormalized from the project (or the reporter for standalone tasks) so tenant queries skip the projects join
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organization_id")
+    @JsonIgnore // Prevent Hibernate proxy serialization issues
+    private Organization organization;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reporter_id", nullable = false)
     @JsonIgnore // Prevent Hibernate proxy serialization issues
@@ -142,6 +164,19 @@ public class Task {
         this.project = project;
     }
 
+    public Organization getOrganization() {
+        return organization;
+    }
+
+    public void setOrganization(Organization organization) {
+        this.organization = organization;
+    }
+
+    // --- Get organization ID without triggering lazy loading ---
+    public Long getOrganizationId() {
+        return organization != null ? organization.getId() : null;
+    }
+
     public User getReporter() {
         return reporter;
     }
@@ -178,6 +213,10 @@ public class Task {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
@@ -0,0 +1,86 @@
+package org.example.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Materialized hour totals per task, user and day, maintained incrementally by TimeLogService.
+ * project_id is denormalized from the task so project summaries read rollup rows only.
+ */
+@Entity
+@Table(name = "time_log_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_task_user_day", columnNames = {"task_id", "user_id", "work_date"}),
+        indexes = {
+                @Index(name = "idx_rollup_project_day", columnList = "project_id, work_date"),
+                @Index(name = "idx_rollup_user_day", columnList = "user_id, work_date")
+        })
+public class TimeLogRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id") // Null for standalone tasks
+    private Long projectId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    @Column(name = "total_hours", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalHours;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    public TimeLogRollup() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    public BigDecimal getTotalHours() {
+        return totalHours;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimeLogRollup that = (TimeLogRollup) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -3,6 +3,9 @@ package org.example.models;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -33,7 +36,9 @@ public class User {
 
     private boolean enabled = true;
 
+    // Role ids per user come from the collection cache; the Role rows themselves from the Role region
     @ManyToMany(fetch = FetchType.EAGER) // Or LAZY depending on your needs
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "org.example.models.User.roles")
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
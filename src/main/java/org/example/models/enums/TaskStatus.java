@@ -1,5 +1,11 @@
 package org.example.models.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum TaskStatus {
     TO_DO("To Do"),
     IN_PROGRESS("In Progress"),
@@ -8,6 +14,19 @@ public enum TaskStatus {
     CHECKED("Checked"),
     ON_HOLD("On Hold"); // Optional
 
+    // Allowed status changes; anything else is rejected by TaskService.transitionStatus
+    private static final Map<TaskStatus, Set<TaskStatus>> TRANSITIONS = new EnumMap<>(TaskStatus.class);
+
+    static {
+        TRANSITIONS.put(TO_DO, EnumSet.of(IN_PROGRESS, IN_REVIEW, DONE, ON_HOLD));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(TO_DO, IN_REVIEW, DONE, ON_HOLD));
+        TRANSITIONS.put(IN_REVIEW, EnumSet.of(TO_DO, IN_PROGRESS, DONE, ON_HOLD));
+        // DONE is either signed off by the checker or reopened
+        TRANSITIONS.put(DONE, EnumSet.of(CHECKED, TO_DO, IN_PROGRESS, IN_REVIEW));
+        TRANSITIONS.put(CHECKED, EnumSet.of(IN_PROGRESS));
+        TRANSITIONS.put(ON_HOLD, EnumSet.of(TO_DO, IN_PROGRESS));
+    }
+
     private final String displayName;
 
     TaskStatus(String displayName) {
@@ -17,4 +36,12 @@ public enum TaskStatus {
     public String getDisplayName() {
         return displayName;
     }
+
+    public Set<TaskStatus> getAllowedTransitions() {
+        return Collections.unmodifiableSet(TRANSITIONS.get(this));
+    }
+
+    public boolean canTransitionTo(TaskStatus target) {
+        return target != null && TRANSITIONS.get(this).contains(target);
+    }
 }
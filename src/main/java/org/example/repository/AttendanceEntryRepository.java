@@ -1,12 +1,12 @@
 package org.example.repository;
 
 import org.example.models.AttendanceEntry;
+import org.example.repository.projection.AttendanceMark;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -25,9 +25,14 @@ public interface AttendanceEntryRepository extends JpaRepository<AttendanceEntry
         @Param("endDateTime") LocalDateTime endDateTime
     );
     
+    // Half-open range on (user_id, timestamp) so idx_attendance_user_ts is used; DATE(timestamp) = ? cannot be
     @Query("SELECT ae FROM AttendanceEntry ae WHERE ae.user.id = :userId " +
-           "AND DATE(ae.timestamp) = :date ORDER BY ae.timestamp DESC")
-    List<AttendanceEntry> findByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+           "AND ae.timestamp >= :startDateTime AND ae.timestamp < :endDateTime ORDER BY ae.timestamp DESC")
+    List<AttendanceEntry> findByUserIdAndTimestampRange(
+        @Param("userId") Long userId,
+        @Param("startDateTime") LocalDateTime startDateTime,
+        @Param("endDateTime") LocalDateTime endDateTime
+    );
     
     @Query("SELECT ae FROM AttendanceEntry ae WHERE ae.user.id = :userId " +
            "ORDER BY ae.timestamp DESC LIMIT 1")
@@ -39,4 +44,16 @@ public interface AttendanceEntryRepository extends JpaRepository<AttendanceEntry
         @Param("userId") Long userId, 
         @Param("entryType") AttendanceEntry.EntryType entryType
     );
+    
+    // Every user of the organization, with one row per entry in the range; users without entries get a single
+    // row whose entry type and timestamp are null
+    @Query("SELECT u.id AS userId, ae.entryType AS entryType, ae.timestamp AS timestamp " +
+           "FROM User u LEFT JOIN AttendanceEntry ae ON ae.user = u " +
+           "AND ae.timestamp BETWEEN :startDateTime AND :endDateTime " +
+           "WHERE u.organization.id = :organizationId ORDER BY u.id")
+    List<AttendanceMark> findUserMarksByOrganizationIdAndTimestampBetween(
+        @Param("organizationId") Long organizationId,
+        @Param("startDateTime") LocalDateTime startDateTime,
+        @Param("endDateTime") LocalDateTime endDateTime
+    );
 }
\ No newline at end of file
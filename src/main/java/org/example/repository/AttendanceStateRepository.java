@@ -0,0 +1,55 @@
+package org.example.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.models.AttendanceState;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AttendanceStateRepository extends JpaRepository<AttendanceState, Long> {
+
+    // Creates the state row for a user, seeded from their latest entry. Called at user creation and, for users that
+    // predate it, before the first transition; DatabaseMigrationRunner backfills the rest at startup.
+    // INSERT IGNORE makes concurrent bootstraps harmless.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "attendance_state"))
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO attendance_state (user_id, last_entry_type, last_timestamp, last_entry_id) VALUES (:userId, " +
+            "(SELECT ae.entry_type FROM attendance_entries ae WHERE ae.user_id = :userId ORDER BY ae.timestamp DESC, ae.id DESC LIMIT 1), " +
+            "(SELECT ae.timestamp FROM attendance_entries ae WHERE ae.user_id = :userId ORDER BY ae.timestamp DESC, ae.id DESC LIMIT 1), " +
+            "(SELECT ae.id FROM attendance_entries ae WHERE ae.user_id = :userId ORDER BY ae.timestamp DESC, ae.id DESC LIMIT 1))",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    // Transitions below are compare-and-set: the WHERE clause is the precondition and the row lock taken by the
+    // UPDATE serializes concurrent requests, so exactly one of two simultaneous clock-ins gets an update count of 1.
+
+    @Modifying
+    @Query("UPDATE AttendanceState s SET s.lastEntryType = org.example.models.AttendanceEntry.EntryType.CLOCK_IN, " +
+            "s.lastTimestamp = :timestamp, s.lastEntryId = NULL " +
+            "WHERE s.userId = :userId AND (s.lastEntryType IS NULL " +
+            "OR s.lastEntryType <> org.example.models.AttendanceEntry.EntryType.CLOCK_IN " +
+            "OR s.lastTimestamp < :startOfDay)")
+    int clockInIfNotClockedIn(@Param("userId") Long userId,
+                              @Param("timestamp") LocalDateTime timestamp,
+                              @Param("startOfDay") LocalDateTime startOfDay);
+
+    @Modifying
+    @Query("UPDATE AttendanceState s SET s.lastEntryType = org.example.models.AttendanceEntry.EntryType.CLOCK_OUT, " +
+            "s.lastTimestamp = :timestamp, s.lastEntryId = NULL " +
+            "WHERE s.userId = :userId AND s.lastEntryType = org.example.models.AttendanceEntry.EntryType.CLOCK_IN " +
+            "AND s.lastTimestamp >= :startOfDay")
+    int clockOutIfClockedIn(@Param("userId") Long userId,
+                            @Param("timestamp") LocalDateTime timestamp,
+                            @Param("startOfDay") LocalDateTime startOfDay);
+
+    @Modifying
+    @Query("UPDATE AttendanceState s SET s.lastEntryId = :entryId WHERE s.userId = :userId")
+    int setLastEntryId(@Param("userId") Long userId, @Param("entryId") Long entryId);
+}
@@ -2,8 +2,10 @@ package org.example.repository;
 
 import org.example.models.Organization;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +18,8 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     boolean existsByName(String name);
     
     boolean existsByContactEmail(String contactEmail);
-}
\ No newline at end of file
+
+    // For jobs that work through the organizations one at a time
+    @Query("SELECT o.id FROM Organization o ORDER BY o.id")
+    List<Long> findAllIds();
+}
@@ -0,0 +1,80 @@
+package org.example.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.models.OrganizationStats;
+import org.example.repository.projection.OrganizationCounts;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OrganizationStatsRepository extends JpaRepository<OrganizationStats, Long> {
+
+    // Recomputed counts; "active" mirrors ProjectService.countActiveProjectsByOrganization (not COMPLETED)
+    String RECOMPUTE_SELECT = "SELECT o.id, " +
+            "(SELECT COUNT(*) FROM users u WHERE u.organization_id = o.id), " +
+            "(SELECT COUNT(*) FROM projects p WHERE p.organization_id = o.id), " +
+            "(SELECT COUNT(*) FROM tasks t WHERE t.organization_id = o.id), " +
+            "(SELECT COUNT(*) FROM projects p WHERE p.organization_id = o.id AND p.project_status <> 'COMPLETED'), " +
+            "NOW() FROM organizations o ";
+
+    // --- Incremental maintenance; a missing row is left alone and created by the next refresh ---
+
+    @Modifying
+    @Query("UPDATE OrganizationStats s SET s.totalUsers = s.totalUsers + :delta WHERE s.organizationId = :organizationId")
+    int addUsers(@Param("organizationId") Long organizationId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE OrganizationStats s SET s.totalProjects = s.totalProjects + :delta, " +
+            "s.activeProjects = s.activeProjects + :activeDelta WHERE s.organizationId = :organizationId")
+    int addProjects(@Param("organizationId") Long organizationId,
+                    @Param("delta") long delta,
+                    @Param("activeDelta") long activeDelta);
+
+    @Modifying
+    @Query("UPDATE OrganizationStats s SET s.totalTasks = s.totalTasks + :delta WHERE s.organizationId = :organizationId")
+    int addTasks(@Param("organizationId") Long organizationId, @Param("delta") long delta);
+
+    // --- Reconciliation ---
+
+    // Transactional so the dashboard can create a missing row outside a service transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_stats"))
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO organization_stats " +
+            "(organization_id, total_users, total_projects, total_tasks, active_projects, refreshed_at) " +
+            RECOMPUTE_SELECT + "WHERE o.id = :organizationId " +
+            "ON DUPLICATE KEY UPDATE total_users = VALUES(total_users), total_projects = VALUES(total_projects), " +
+            "total_tasks = VALUES(total_tasks), active_projects = VALUES(active_projects), " +
+            "refreshed_at = VALUES(refreshed_at)",
+            nativeQuery = true)
+    int refresh(@Param("organizationId") Long organizationId);
+
+    // Plain SELECT, so it is a consistent read that locks none of the counted rows (unlike INSERT ... SELECT)
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM users u WHERE u.organization_id = :organizationId) AS totalUsers, " +
+            "(SELECT COUNT(*) FROM projects p WHERE p.organization_id = :organizationId) AS totalProjects, " +
+            "(SELECT COUNT(*) FROM tasks t WHERE t.organization_id = :organizationId) AS totalTasks, " +
+            "(SELECT COUNT(*) FROM projects p WHERE p.organization_id = :organizationId " +
+            "AND p.project_status <> 'COMPLETED') AS activeProjects",
+            nativeQuery = true)
+    OrganizationCounts countSources(@Param("organizationId") Long organizationId);
+
+    @Modifying
+    @Query("UPDATE OrganizationStats s SET s.totalUsers = :totalUsers, s.totalProjects = :totalProjects, " +
+            "s.totalTasks = :totalTasks, s.activeProjects = :activeProjects, s.refreshedAt = :refreshedAt " +
+            "WHERE s.organizationId = :organizationId")
+    int applyCounts(@Param("organizationId") Long organizationId,
+                    @Param("totalUsers") long totalUsers,
+                    @Param("totalProjects") long totalProjects,
+                    @Param("totalTasks") long totalTasks,
+                    @Param("activeProjects") long activeProjects,
+                    @Param("refreshedAt") LocalDateTime refreshedAt);
+}
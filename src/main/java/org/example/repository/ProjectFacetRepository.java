@@ -0,0 +1,89 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.example.models.Project;
+import org.example.models.enums.ProjectCategory;
+import org.example.models.enums.ProjectPriority;
+import org.example.models.enums.ProjectStage;
+import org.example.models.enums.ProjectStatus;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Grouped project counts for facet navigation. One statement groups by all four facet columns at once;
+ * the per-facet totals are summed from these buckets in memory, since a tenant has at most a few hundred
+ * distinct combinations.
+ */
+@Repository
+public class ProjectFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Bucket> countByFacets(Specification<Project> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Project> root = query.from(Project.class);
+        Path<ProjectCategory> category = root.get("projectCategory");
+        Path<ProjectPriority> priority = root.get("priority");
+        Path<ProjectStatus> status = root.get("status");
+        Path<ProjectStage> stage = root.get("projectStage");
+
+        query.multiselect(category, priority, status, stage, cb.count(root))
+                .where(specification.toPredicate(root, query, cb))
+                .groupBy(category, priority, status, stage);
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new Bucket((ProjectCategory) row[0], (ProjectPriority) row[1],
+                        (ProjectStatus) row[2], (ProjectStage) row[3], (Long) row[4]))
+                .toList();
+    }
+
+    /**
+     * Number of projects with one combination of category, priority, status and stage.
+     */
+    public static final class Bucket {
+
+        private final ProjectCategory category;
+        private final ProjectPriority priority;
+        private final ProjectStatus status;
+        private final ProjectStage stage;
+        private final long count;
+
+        public Bucket(ProjectCategory category, ProjectPriority priority, ProjectStatus status, ProjectStage stage,
+                      long count) {
+            this.category = category;
+            this.priority = priority;
+            this.status = status;
+            this.stage = stage;
+            this.count = count;
+        }
+
+        public ProjectCategory getCategory() {
+            return category;
+        }
+
+        public ProjectPriority getPriority() {
+            return priority;
+        }
+
+        public ProjectStatus getStatus() {
+            return status;
+        }
+
+        public ProjectStage getStage() {
+            return stage;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -3,24 +3,34 @@ package org.example.repository;
 
 import org.example.models.Project;
 import org.example.models.enums.ProjectStatus;
-import org.example.models.enums.ProjectCategory;
-import org.example.models.enums.ProjectPriority;
+import org.example.repository.projection.ProjectSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
+
+    String PROJECT_SUMMARY_SELECT = "SELECT p.id AS id, p.name AS name, p.clientName AS clientName, " +
+           "p.location AS location, p.projectCategory AS projectCategory, p.status AS status, " +
+           "p.projectStage AS projectStage, p.priority AS priority, p.startDate AS startDate, " +
+           "p.estimatedEndDate AS estimatedEndDate, p.updatedAt AS updatedAt FROM Project p ";
 
     // Example derived query:
     Optional<Project> findByName(String name);
-    List<Project> findByNameContainingIgnoreCase(String nameFragment);
     
     // Organization-based queries - using correct JPA property path
     long countByOrganization_Id(Long organizationId);
@@ -28,23 +38,25 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     // Pagination and filtering methods
     Page<Project> findByOrganization_Id(Long organizationId, Pageable pageable);
-    
-    @Query("SELECT p FROM Project p WHERE p.organization.id = :organizationId " +
-           "AND (:category IS NULL OR p.projectCategory = :category) " +
-           "AND (:priority IS NULL OR p.priority = :priority) " +
-           "AND (:status IS NULL OR p.status = :status)")
-    Page<Project> findByOrganizationAndFilters(@Param("organizationId") Long organizationId,
-                                               @Param("category") ProjectCategory category,
-                                               @Param("priority") ProjectPriority priority,
-                                               @Param("status") ProjectStatus status,
-                                               Pageable pageable);
-    
-    @Query("SELECT COUNT(p) FROM Project p WHERE p.organization.id = :organizationId " +
-           "AND (:category IS NULL OR p.projectCategory = :category) " +
-           "AND (:priority IS NULL OR p.priority = :priority) " +
-           "AND (:status IS NULL OR p.status = :status)")
-    long countByOrganizationAndFilters(@Param("organizationId") Long organizationId,
-                                       @Param("category") ProjectCategory category,
-                                       @Param("priority") ProjectPriority priority,
-                                       @Param("status") ProjectStatus status);
-}
\ No newline at end of file
+    List<Project> findByOrganization_Id(Long organizationId, Sort sort);
+    boolean existsByIdAndOrganization_Id(Long id, Long organizationId);
+
+    // Keyset (seek) scan over a tenant's projects, served by idx_projects_org_id.
+    // Returning a List with a Pageable limits the result without issuing a COUNT query.
+    @Query(PROJECT_SUMMARY_SELECT + "WHERE p.organization.id = :organizationId AND p.id > :afterId ORDER BY p.id")
+    List<ProjectSummary> findSummariesByOrganizationAfter(@Param("organizationId") Long organizationId,
+                                                          @Param("afterId") Long afterId,
+                                                          Pageable pageable);
+
+    // Search results: summaries for a page of ids from the search index, in any order
+    @Query(PROJECT_SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProjectSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // One organization's projects for building its search index; streamed, so consume in a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PROJECT_SUMMARY_SELECT + "WHERE p.organization.id = :organizationId")
+    Stream<ProjectSummary> streamSummariesByOrganizationId(@Param("organizationId") Long organizationId);
+}
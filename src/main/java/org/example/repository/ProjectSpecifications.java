@@ -0,0 +1,88 @@
+package org.example.repository;
+
+import org.example.dto.ProjectFilter;
+import org.example.models.Project;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds project listing queries from the filters actually supplied, so MySQL sees plain equality and
+ * range predicates it can match against the composite indexes on {@code projects} instead of
+ * {@code (:x IS NULL OR ...)} branches.
+ */
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications() {
+    }
+
+    public static Specification<Project> matching(Long organizationId, ProjectFilter filter) {
+        List<Specification<Project>> predicates = new ArrayList<>();
+        predicates.add(matchingAttributes(organizationId, filter));
+        if (filter != null) {
+            if (filter.getCategory() != null) {
+                predicates.add(equal("projectCategory", filter.getCategory()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(equal("priority", filter.getPriority()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(equal("status", filter.getStatus()));
+            }
+            if (filter.getStage() != null) {
+                predicates.add(equal("projectStage", filter.getStage()));
+            }
+        }
+        return Specification.allOf(predicates);
+    }
+
+    /**
+     * The organization plus every filter except the four enum facets (category, priority, status, stage),
+     * for facet counts that are narrowed by the other filters but not by the facets themselves.
+     */
+    public static Specification<Project> matchingAttributes(Long organizationId, ProjectFilter filter) {
+        List<Specification<Project>> predicates = new ArrayList<>();
+        predicates.add(inOrganization(organizationId));
+        if (filter != null) {
+            if (filter.getClientName() != null) {
+                predicates.add(startsWith("clientName", filter.getClientName()));
+            }
+            if (filter.getLocation() != null) {
+                predicates.add(startsWith("location", filter.getLocation()));
+            }
+            if (filter.getStartDateFrom() != null) {
+                predicates.add((root, query, cb) ->
+                        cb.greaterThanOrEqualTo(root.get("startDate"), filter.getStartDateFrom()));
+            }
+            if (filter.getStartDateTo() != null) {
+                predicates.add((root, query, cb) ->
+                        cb.lessThanOrEqualTo(root.get("startDate"), filter.getStartDateTo()));
+            }
+            if (filter.getBudgetMin() != null) {
+                predicates.add((root, query, cb) ->
+                        cb.greaterThanOrEqualTo(root.get("budget"), filter.getBudgetMin()));
+            }
+            if (filter.getBudgetMax() != null) {
+                predicates.add((root, query, cb) ->
+                        cb.lessThanOrEqualTo(root.get("budget"), filter.getBudgetMax()));
+            }
+        }
+        return Specification.allOf(predicates);
+    }
+
+    // Compares the FK column directly; no join to organizations
+    public static Specification<Project> inOrganization(Long organizationId) {
+        return (root, query, cb) -> cb.equal(root.get("organization").get("id"), organizationId);
+    }
+
+    private static Specification<Project> equal(String attribute, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    // Prefix match only: a leading wildcard cannot use an index. The column collation already ignores case.
+    private static Specification<Project> startsWith(String attribute, String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get(attribute), pattern, '\\');
+    }
+}
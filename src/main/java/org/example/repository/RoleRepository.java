@@ -1,13 +1,18 @@
 // src/main/java/org/example/repository/RoleRepository.java
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.models.Role;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Query cache maps the name to the role id; the row itself comes from the Role entity region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
 }
@@ -1,18 +1,50 @@
 package org.example.repository;
 
+import org.example.dto.TaskRowDto;
 import org.example.models.Project;
 import org.example.models.Task;
 import org.example.models.User;
+import org.example.models.enums.ProjectStage;
 import org.example.models.enums.TaskStatus;
+import org.example.repository.projection.TaskProjectRef;
+import org.example.repository.projection.TaskSearchRow;
+import org.example.repository.projection.TaskStatusRef;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    // Task rows with project and user summaries joined in, so listings avoid lazy-loading N+1 queries.
+    // Callers append a WHERE clause; Pageable sorting is applied against the "t" alias.
+    String TASK_ROW_SELECT = "SELECT new org.example.dto.TaskRowDto(" +
+            "t.id, t.name, t.description, t.status, t.projectStage, t.priority, t.dueDate, t.createdAt, t.updatedAt, " +
+            "p.id, p.name, p.clientName, " +
+            "a.id, a.username, a.name, a.email, " +
+            "r.id, r.username, r.name, r.email, " +
+            "c.id, c.username, c.name, c.email) " +
+            "FROM Task t LEFT JOIN t.project p LEFT JOIN t.assignee a LEFT JOIN t.reporter r LEFT JOIN t.checkedBy c ";
+
+    // Seek predicate for keyset pagination over (updatedAt DESC, id DESC). The leading "<=" keeps the
+    // range on updated_at index-friendly; the OR only breaks ties within the same timestamp.
+    String TASK_ROW_SEEK = "t.updatedAt <= :cursorUpdatedAt " +
+            "AND (t.updatedAt < :cursorUpdatedAt OR t.id < :cursorId) " +
+            "ORDER BY t.updatedAt DESC, t.id DESC";
+
     List<Task> findByProject(Project project);
     List<Task> findByAssignee(User assignee);
     List<Task> findByAssigneeAndStatusNotIn(User assignee, List<TaskStatus> statuses);
@@ -27,6 +59,187 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     Page<Task> findByProjectId(Long projectId, Pageable pageable);
     boolean existsByProjectId(Long projectId); // Add this if not present
     
-    // Organization-based queries - using correct JPA property path
-    long countByProject_Organization_Id(Long organizationId);
+    // Organization-based queries - tasks carry organization_id directly (includes standalone tasks)
+    long countByOrganization_Id(Long organizationId);
+
+    @Query("SELECT t.organization.id FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findOrganizationIdById(@Param("taskId") Long taskId);
+
+    boolean existsByIdAndOrganization_Id(Long id, Long organizationId);
+
+    Optional<Task> findByIdAndOrganization_Id(Long id, Long organizationId);
+
+    // Existence and project of many tasks of one organization in one statement, for batch time log imports
+    @Query("SELECT t.id AS id, p.id AS projectId FROM Task t LEFT JOIN t.project p " +
+            "WHERE t.id IN :ids AND t.organization.id = :organizationId")
+    List<TaskProjectRef> findProjectRefsByIdIn(@Param("ids") Collection<Long> ids,
+                                               @Param("organizationId") Long organizationId);
+
+    // --- Compare-and-set status transitions (no row lock held beyond the UPDATE itself) ---
+
+    @Query("SELECT t.status FROM Task t WHERE t.id = :taskId")
+    Optional<TaskStatus> findStatusById(@Param("taskId") Long taskId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :toStatus, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.id = :taskId AND t.status = :fromStatus")
+    int transitionStatus(@Param("taskId") Long taskId,
+                         @Param("fromStatus") TaskStatus fromStatus,
+                         @Param("toStatus") TaskStatus toStatus,
+                         @Param("now") LocalDateTime now);
+
+    // Same, but only for the task's assigned checker
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :toStatus, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.id = :taskId AND t.status = :fromStatus AND t.checkedBy.id = :checkerId")
+    int transitionStatusAsChecker(@Param("taskId") Long taskId,
+                                  @Param("fromStatus") TaskStatus fromStatus,
+                                  @Param("toStatus") TaskStatus toStatus,
+                                  @Param("checkerId") Long checkerId,
+                                  @Param("now") LocalDateTime now);
+
+    // --- Bulk operations: one statement for the whole selection ---
+
+    @Query("SELECT t.id AS id, t.status AS status, o.id AS organizationId " +
+            "FROM Task t LEFT JOIN t.organization o WHERE t.id IN :ids")
+    List<TaskStatusRef> findStatusRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :toStatus, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.id IN :ids AND t.status IN :fromStatuses")
+    int transitionStatusByIdIn(@Param("ids") Collection<Long> ids,
+                               @Param("fromStatuses") Collection<TaskStatus> fromStatuses,
+                               @Param("toStatus") TaskStatus toStatus,
+                               @Param("now") LocalDateTime now);
+
+    // Same, limited to the tasks the given user is the assigned checker of
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :toStatus, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.id IN :ids AND t.status IN :fromStatuses AND t.checkedBy.id = :checkerId")
+    int transitionStatusByIdInAsChecker(@Param("ids") Collection<Long> ids,
+                                        @Param("fromStatuses") Collection<TaskStatus> fromStatuses,
+                                        @Param("toStatus") TaskStatus toStatus,
+                                        @Param("checkerId") Long checkerId,
+                                        @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.projectStage = :projectStage, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.id IN :ids")
+    int updateProjectStageByIdIn(@Param("ids") Collection<Long> ids,
+                                 @Param("projectStage") ProjectStage projectStage,
+                                 @Param("now") LocalDateTime now);
+
+    // A null assignee unassigns the tasks
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.assignee = :assignee, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.id IN :ids")
+    int updateAssigneeByIdIn(@Param("ids") Collection<Long> ids,
+                             @Param("assignee") User assignee,
+                             @Param("now") LocalDateTime now);
+
+    // Bypasses cascades: callers remove time logs and rollups first
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // --- Edit permission: assignee, reporter or checker, compared on the FK columns without joins ---
+
+    String EDITABLE_BY_USER = "(t.assignee.id = :userId OR t.reporter.id = :userId OR t.checkedBy.id = :userId)";
+
+    // Primary-key lookup, so the count is over at most one row
+    @Query("SELECT COUNT(t) > 0 FROM Task t WHERE t.id = :taskId AND " + EDITABLE_BY_USER)
+    boolean isEditableByUser(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :taskIds AND " + EDITABLE_BY_USER)
+    List<Long> findIdsEditableByUser(@Param("taskIds") Collection<Long> taskIds, @Param("userId") Long userId);
+
+    // --- Task row projections (one statement per page, independent of page size) ---
+
+    @Query(TASK_ROW_SELECT + "WHERE t.id = :taskId")
+    Optional<TaskRowDto> findRowById(@Param("taskId") Long taskId);
+
+    @Query(value = TASK_ROW_SELECT,
+           countQuery = "SELECT COUNT(t) FROM Task t")
+    Page<TaskRowDto> findAllRows(Pageable pageable);
+
+    @Query(value = TASK_ROW_SELECT + "WHERE t.project.id = :projectId",
+           countQuery = "SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId")
+    Page<TaskRowDto> findRowsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(value = TASK_ROW_SELECT + "WHERE t.assignee.id = :userId AND t.status NOT IN :statuses",
+           countQuery = "SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.status NOT IN :statuses")
+    Page<TaskRowDto> findRowsByAssigneeIdAndStatusNotIn(@Param("userId") Long userId,
+                                                        @Param("statuses") List<TaskStatus> statuses,
+                                                        Pageable pageable);
+
+    @Query(value = TASK_ROW_SELECT + "WHERE t.reporter.id = :userId AND t.status NOT IN :statuses",
+           countQuery = "SELECT COUNT(t) FROM Task t WHERE t.reporter.id = :userId AND t.status NOT IN :statuses")
+    Page<TaskRowDto> findRowsByReporterIdAndStatusNotIn(@Param("userId") Long userId,
+                                                        @Param("statuses") List<TaskStatus> statuses,
+                                                        Pageable pageable);
+
+    @Query(value = TASK_ROW_SELECT + "WHERE t.checkedBy.id = :userId AND t.status = :status",
+           countQuery = "SELECT COUNT(t) FROM Task t WHERE t.checkedBy.id = :userId AND t.status = :status")
+    Page<TaskRowDto> findRowsByCheckedByIdAndStatus(@Param("userId") Long userId,
+                                                    @Param("status") TaskStatus status,
+                                                    Pageable pageable);
+
+    // Forward-only cursor over one organization's tasks, walking idx_tasks_org_id.
+    // Integer.MIN_VALUE makes Connector/J stream rows; consume inside a read-only transaction and close.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query(TASK_ROW_SELECT + "WHERE t.organization.id = :organizationId ORDER BY t.id")
+    Stream<TaskRowDto> streamRowsByOrganizationId(@Param("organizationId") Long organizationId);
+
+    // Search results: rows for a page of ids from the search index, in any order
+    @Query(TASK_ROW_SELECT + "WHERE t.id IN :ids")
+    List<TaskRowDto> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Text of one organization's tasks for building its search index; streamed like streamRowsByOrganizationId
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.name AS name, t.description AS description " +
+            "FROM Task t WHERE t.organization.id = :organizationId")
+    Stream<TaskSearchRow> streamSearchRowsByOrganizationId(@Param("organizationId") Long organizationId);
+
+    // --- Keyset (seek) variants: callers pass PageRequest.of(0, size + 1) to detect a following page ---
+
+    @Query(TASK_ROW_SELECT + "WHERE " + TASK_ROW_SEEK)
+    List<TaskRowDto> findRowsBefore(@Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    @Query(TASK_ROW_SELECT + "WHERE t.project.id = :projectId AND " + TASK_ROW_SEEK)
+    List<TaskRowDto> findRowsByProjectIdBefore(@Param("projectId") Long projectId,
+                                               @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+
+    @Query(TASK_ROW_SELECT + "WHERE t.assignee.id = :userId AND t.status NOT IN :statuses AND " + TASK_ROW_SEEK)
+    List<TaskRowDto> findRowsByAssigneeIdAndStatusNotInBefore(@Param("userId") Long userId,
+                                                              @Param("statuses") List<TaskStatus> statuses,
+                                                              @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Pageable pageable);
+
+    @Query(TASK_ROW_SELECT + "WHERE t.reporter.id = :userId AND t.status NOT IN :statuses AND " + TASK_ROW_SEEK)
+    List<TaskRowDto> findRowsByReporterIdAndStatusNotInBefore(@Param("userId") Long userId,
+                                                              @Param("statuses") List<TaskStatus> statuses,
+                                                              @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Pageable pageable);
+
+    @Query(TASK_ROW_SELECT + "WHERE t.checkedBy.id = :userId AND t.status = :status AND " + TASK_ROW_SEEK)
+    List<TaskRowDto> findRowsByCheckedByIdAndStatusBefore(@Param("userId") Long userId,
+                                                          @Param("status") TaskStatus status,
+                                                          @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable pageable);
+
+    // Totals for keyset mode, only issued when the caller asks for them
+    long countByProject_Id(Long projectId);
+    long countByAssignee_IdAndStatusNotIn(Long assigneeId, List<TaskStatus> statuses);
+    long countByReporter_IdAndStatusNotIn(Long reporterId, List<TaskStatus> statuses);
+    long countByCheckedBy_IdAndStatus(Long checkedById, TaskStatus status);
 }
@@ -2,11 +2,18 @@
 package org.example.repository;
 
 import org.example.models.TimeEntry;
+import org.example.repository.projection.TimeEntryExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> { // TimeEntry is the entity, Long is the type of its ID
@@ -21,4 +28,25 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> { //
     // Example:
     // @Query("SELECT te FROM TimeEntry te WHERE te.userId = :userId AND te.project.id = :projectId")
     // List<TimeEntry> findByUserAndProject(long userId, long projectId);
-}
\ No newline at end of file
+
+    // Streaming export; time_entries stores raw task/user ids, so the joins are explicit entity joins
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id AS id, e.taskId AS taskId, t.name AS taskName, p.id AS projectId, " +
+            "u.id AS userId, u.username AS username, e.dateOfWork AS dateOfWork, " +
+            "e.durationSpentMinutes AS durationMinutes, e.description AS description " +
+            "FROM TimeEntry e JOIN User u ON u.id = e.userId " +
+            "LEFT JOIN Task t ON t.id = e.taskId LEFT JOIN t.project p " +
+            "WHERE u.organization.id = :organizationId " +
+            "AND e.dateOfWork BETWEEN :startDate AND :endDate " +
+            "AND (:userId IS NULL OR u.id = :userId) " +
+            "AND (:projectId IS NULL OR p.id = :projectId) " +
+            "ORDER BY e.id")
+    Stream<TimeEntryExportRow> streamForExport(@Param("organizationId") Long organizationId,
+                                               @Param("userId") Long userId,
+                                               @Param("projectId") Long projectId,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,146 @@
+package org.example.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC batch writes for bulk time log imports. Hibernate cannot batch inserts for
+ * IDENTITY ids, so these go through JdbcTemplate; with rewriteBatchedStatements=true the
+ * MySQL driver sends each chunk as a multi-row INSERT.
+ */
+@Repository
+public class TimeLogBatchWriter {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_TIME_LOG =
+            "INSERT INTO time_logs (task_id, user_id, date_logged, hours_logged, work_description, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_ROLLUP =
+            "INSERT INTO time_log_rollups (task_id, project_id, user_id, work_date, total_hours, entry_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE total_hours = total_hours + VALUES(total_hours), " +
+            "entry_count = entry_count + VALUES(entry_count), project_id = VALUES(project_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TimeLogBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertTimeLogs(List<TimeLogRow> rows, LocalDateTime createdAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_TIME_LOG, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getTaskId());
+            ps.setLong(2, row.getUserId());
+            ps.setDate(3, Date.valueOf(row.getDateLogged()));
+            ps.setBigDecimal(4, row.getHoursLogged());
+            ps.setString(5, row.getWorkDescription());
+            ps.setTimestamp(6, created);
+        });
+    }
+
+    public void applyRollupDeltas(List<RollupDelta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP, deltas, BATCH_SIZE, (ps, delta) -> {
+            ps.setLong(1, delta.getTaskId());
+            if (delta.getProjectId() != null) {
+                ps.setLong(2, delta.getProjectId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setLong(3, delta.getUserId());
+            ps.setDate(4, Date.valueOf(delta.getWorkDate()));
+            ps.setBigDecimal(5, delta.getHours());
+            ps.setInt(6, delta.getEntries());
+        });
+    }
+
+    public static class TimeLogRow {
+        private final Long taskId;
+        private final Long userId;
+        private final LocalDate dateLogged;
+        private final BigDecimal hoursLogged;
+        private final String workDescription;
+
+        public TimeLogRow(Long taskId, Long userId, LocalDate dateLogged, BigDecimal hoursLogged, String workDescription) {
+            this.taskId = taskId;
+            this.userId = userId;
+            this.dateLogged = dateLogged;
+            this.hoursLogged = hoursLogged;
+            this.workDescription = workDescription;
+        }
+
+        public Long getTaskId() {
+            return taskId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public LocalDate getDateLogged() {
+            return dateLogged;
+        }
+
+        public BigDecimal getHoursLogged() {
+            return hoursLogged;
+        }
+
+        public String getWorkDescription() {
+            return workDescription;
+        }
+    }
+
+    public static class RollupDelta {
+        private final Long taskId;
+        private final Long projectId;
+        private final Long userId;
+        private final LocalDate workDate;
+        private final BigDecimal hours;
+        private final int entries;
+
+        public RollupDelta(Long taskId, Long projectId, Long userId, LocalDate workDate, BigDecimal hours, int entries) {
+            this.taskId = taskId;
+            this.projectId = projectId;
+            this.userId = userId;
+            this.workDate = workDate;
+            this.hours = hours;
+            this.entries = entries;
+        }
+
+        public Long getTaskId() {
+            return taskId;
+        }
+
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public LocalDate getWorkDate() {
+            return workDate;
+        }
+
+        public BigDecimal getHours() {
+            return hours;
+        }
+
+        public int getEntries() {
+            return entries;
+        }
+    }
+}
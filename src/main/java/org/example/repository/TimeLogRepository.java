@@ -3,11 +3,21 @@ package org.example.repository;
 import org.example.models.Task;
 import org.example.models.TimeLog;
 import org.example.models.User;
+import org.example.repository.projection.TimeLogExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
@@ -17,4 +27,34 @@ public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
     List<TimeLog> findByUser_Id(Long userId);
     List<TimeLog> findByTaskAndDateLogged(Task task, LocalDate dateLogged);
     List<TimeLog> findByUserAndDateLoggedBetween(User user, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    // Set-based removal of a deleted task's logs, instead of loading each one for orphan removal
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TimeLog tl WHERE tl.task.id IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    // Loads the logging users (and their eager roles) in the same statement for task detail views
+    @EntityGraph(attributePaths = {"user", "user.roles"})
+    List<TimeLog> findWithUserByTask_Id(Long taskId);
+
+    // Forward-only export cursor: Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering
+    // the whole result. Must be consumed inside a read-only transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tl.id AS id, t.id AS taskId, t.name AS taskName, p.id AS projectId, p.name AS projectName, " +
+            "u.id AS userId, u.username AS username, tl.dateLogged AS dateLogged, tl.hoursLogged AS hoursLogged, " +
+            "tl.workDescription AS workDescription, tl.createdAt AS createdAt " +
+            "FROM TimeLog tl JOIN tl.task t LEFT JOIN t.project p JOIN tl.user u " +
+            "WHERE u.organization.id = :organizationId " +
+            "AND tl.dateLogged BETWEEN :startDate AND :endDate " +
+            "AND (:userId IS NULL OR u.id = :userId) " +
+            "AND (:projectId IS NULL OR p.id = :projectId) " +
+            "ORDER BY tl.id")
+    Stream<TimeLogExportRow> streamForExport(@Param("organizationId") Long organizationId,
+                                             @Param("userId") Long userId,
+                                             @Param("projectId") Long projectId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+}
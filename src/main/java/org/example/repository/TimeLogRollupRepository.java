@@ -0,0 +1,95 @@
+package org.example.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.models.TimeLogRollup;
+import org.example.repository.projection.HoursBucket;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TimeLogRollupRepository extends JpaRepository<TimeLogRollup, Long> {
+
+    // --- Incremental maintenance (single-row upserts keyed by uk_rollup_task_user_day) ---
+
+    // Native writes name their table as the query space; without it Hibernate clears every second-level
+    // and query cache region on each statement, and these run on every time log write.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_log_rollups"))
+    @Modifying
+    @Query(value = "INSERT INTO time_log_rollups (task_id, project_id, user_id, work_date, total_hours, entry_count) " +
+            "VALUES (:taskId, :projectId, :userId, :workDate, :hours, :entries) " +
+            "ON DUPLICATE KEY UPDATE total_hours = total_hours + VALUES(total_hours), " +
+            "entry_count = entry_count + VALUES(entry_count), project_id = VALUES(project_id)",
+            nativeQuery = true)
+    int applyDelta(@Param("taskId") Long taskId,
+                   @Param("projectId") Long projectId,
+                   @Param("userId") Long userId,
+                   @Param("workDate") LocalDate workDate,
+                   @Param("hours") BigDecimal hours,
+                   @Param("entries") int entries);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_log_rollups"))
+    @Modifying
+    @Query(value = "DELETE FROM time_log_rollups WHERE task_id = :taskId AND user_id = :userId " +
+            "AND work_date = :workDate AND entry_count <= 0", nativeQuery = true)
+    int deleteIfEmpty(@Param("taskId") Long taskId,
+                      @Param("userId") Long userId,
+                      @Param("workDate") LocalDate workDate);
+
+    @Modifying
+    @Query("UPDATE TimeLogRollup r SET r.projectId = :projectId WHERE r.taskId = :taskId")
+    int updateProjectIdForTask(@Param("taskId") Long taskId, @Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM TimeLogRollup r WHERE r.taskId IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    // --- Rebuild from time_logs, one organization at a time (tenant admins and the nightly job) ---
+    // tasks carry organization_id, so no join to projects
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_log_rollups"))
+    @Modifying
+    @Query(value = "DELETE r FROM time_log_rollups r JOIN tasks t ON t.id = r.task_id " +
+            "WHERE t.organization_id = :organizationId", nativeQuery = true)
+    int deleteRowsByOrganizationId(@Param("organizationId") Long organizationId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_log_rollups"))
+    @Modifying
+    @Query(value = "INSERT INTO time_log_rollups (task_id, project_id, user_id, work_date, total_hours, entry_count) " +
+            "SELECT tl.task_id, t.project_id, tl.user_id, tl.date_logged, SUM(tl.hours_logged), COUNT(*) " +
+            "FROM time_logs tl JOIN tasks t ON t.id = tl.task_id " +
+            "WHERE t.organization_id = :organizationId " +
+            "GROUP BY tl.task_id, t.project_id, tl.user_id, tl.date_logged",
+            nativeQuery = true)
+    int insertFromTimeLogsByOrganizationId(@Param("organizationId") Long organizationId);
+
+    // --- Summaries ---
+
+    @Query("SELECT r.userId AS groupId, SUM(r.totalHours) AS totalHours, SUM(r.entryCount) AS entryCount " +
+            "FROM TimeLogRollup r WHERE r.taskId = :taskId GROUP BY r.userId")
+    List<HoursBucket> sumForTaskByUser(@Param("taskId") Long taskId);
+
+    @Query("SELECT r.taskId AS groupId, SUM(r.totalHours) AS totalHours, SUM(r.entryCount) AS entryCount " +
+            "FROM TimeLogRollup r WHERE r.projectId = :projectId AND r.workDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.taskId")
+    List<HoursBucket> sumForProjectByTask(@Param("projectId") Long projectId,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.userId AS groupId, SUM(r.totalHours) AS totalHours, SUM(r.entryCount) AS entryCount " +
+            "FROM TimeLogRollup r WHERE r.projectId = :projectId AND r.workDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.userId")
+    List<HoursBucket> sumForProjectByUser(@Param("projectId") Long projectId,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+}
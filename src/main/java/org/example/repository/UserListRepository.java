@@ -0,0 +1,82 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.example.models.User;
+import org.example.repository.projection.UserListRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin user listing read as scalar rows. The page itself is one statement over {@code users} only; the
+ * roles of the page's users are fetched with a second statement keyed by their IDs, so no User entity or
+ * role collection is loaded and the row count of the page query is never multiplied by role joins.
+ */
+@Repository
+public class UserListRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Page<UserListRow> findPage(Specification<User> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<User> root = query.from(User.class);
+        query.multiselect(root.get("id"), root.get("username"), root.get("name"), root.get("email"),
+                        root.get("enabled"), root.get("designation"))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Object[]> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        Map<Long, List<String>> rolesByUserId = findRoleNames(rows.stream().map(row -> (Long) row[0]).toList());
+        List<UserListRow> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String username = (String) row[1];
+            String name = row[2] != null ? (String) row[2] : username;
+            content.add(new UserListRow(id, username, name, (String) row[3],
+                    Boolean.TRUE.equals(row[4]), (String) row[5], rolesByUserId.getOrDefault(id, List.of())));
+        }
+        return new PageImpl<>(content, pageable, count(specification));
+    }
+
+    private long count(Specification<User> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        query.select(cb.count(root)).where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Map<Long, List<String>> findRoleNames(List<Long> userIds) {
+        Map<Long, List<String>> rolesByUserId = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return rolesByUserId;
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT u.id, r.name FROM User u JOIN u.roles r WHERE u.id IN :userIds ORDER BY r.name",
+                        Object[].class)
+                .setParameter("userIds", userIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            rolesByUserId.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return rolesByUserId;
+    }
+}
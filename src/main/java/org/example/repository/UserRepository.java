@@ -2,7 +2,10 @@
 package org.example.repository;
 
 import org.example.models.User;
+import org.example.repository.projection.UserDirectoryRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,7 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
@@ -19,4 +23,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByOrganization_Id(Long organizationId);
     List<User> findByOrganization_IdAndEnabled(Long organizationId, boolean enabled);
     long countByOrganization_Id(Long organizationId);
-}
\ No newline at end of file
+
+    // Enabled users of an organization for assignment pickers, as a projection so the EAGER roles are not loaded
+    @Query("SELECT u.id AS id, u.username AS username, u.name AS name, u.email AS email, " +
+           "u.designation AS designation FROM User u " +
+           "WHERE u.organization.id = :organizationId AND u.enabled = true")
+    List<UserDirectoryRow> findDirectoryRowsByOrganizationId(@Param("organizationId") Long organizationId);
+}
@@ -0,0 +1,53 @@
+package org.example.repository;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.example.models.Role;
+import org.example.models.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the admin user listing from the filters actually supplied, so MySQL only sees the predicates it
+ * has to evaluate instead of {@code (:x IS NULL OR ...)} branches it cannot use an index for.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> matching(Long organizationId, Boolean enabled, String roleName, String designation) {
+        List<Specification<User>> predicates = new ArrayList<>();
+        predicates.add(inOrganization(organizationId));
+        if (enabled != null) {
+            predicates.add((root, query, cb) -> cb.equal(root.get("enabled"), enabled));
+        }
+        if (designation != null) {
+            predicates.add((root, query, cb) -> cb.equal(root.get("designation"), designation));
+        }
+        if (roleName != null) {
+            predicates.add(hasRole(roleName));
+        }
+        return Specification.allOf(predicates);
+    }
+
+    // Compares the FK column directly; no join to organizations
+    public static Specification<User> inOrganization(Long organizationId) {
+        return (root, query, cb) -> cb.equal(root.get("organization").get("id"), organizationId);
+    }
+
+    // EXISTS rather than a join, so a user is never duplicated and the count query stays a plain count
+    private static Specification<User> hasRole(String roleName) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<User> holder = subquery.from(User.class);
+            Join<User, Role> role = holder.join("roles");
+            subquery.select(holder.get("id"))
+                    .where(cb.equal(holder.get("id"), root.get("id")), cb.equal(role.get("name"), roleName));
+            return cb.exists(subquery);
+        };
+    }
+}
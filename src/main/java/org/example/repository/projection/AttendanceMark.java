@@ -0,0 +1,15 @@
+package org.example.repository.projection;
+
+import org.example.models.AttendanceEntry;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal attendance row (who, what, when) used to build calendars without loading entities. What and when
+ * are null on the row of a user without entries.
+ */
+public interface AttendanceMark {
+    Long getUserId();
+    AttendanceEntry.EntryType getEntryType();
+    LocalDateTime getTimestamp();
+}
@@ -0,0 +1,12 @@
+package org.example.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Hours and entry count for one group (task, user or project) of a time log rollup query.
+ */
+public interface HoursBucket {
+    Long getGroupId();
+    BigDecimal getTotalHours();
+    Long getEntryCount();
+}
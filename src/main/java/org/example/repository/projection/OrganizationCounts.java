@@ -0,0 +1,11 @@
+package org.example.repository.projection;
+
+/**
+ * Counts recomputed from the source tables for one organization, for the stats reconciliation.
+ */
+public interface OrganizationCounts {
+    long getTotalUsers();
+    long getTotalProjects();
+    long getTotalTasks();
+    long getActiveProjects();
+}
@@ -0,0 +1,27 @@
+package org.example.repository.projection;
+
+import org.example.models.enums.ProjectCategory;
+import org.example.models.enums.ProjectPriority;
+import org.example.models.enums.ProjectStage;
+import org.example.models.enums.ProjectStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight read model for project listings.
+ * Backed by an interface projection so listing queries never materialize Project entities.
+ */
+public interface ProjectSummary {
+    Long getId();
+    String getName();
+    String getClientName();
+    String getLocation();
+    ProjectCategory getProjectCategory();
+    ProjectStatus getStatus();
+    ProjectStage getProjectStage();
+    ProjectPriority getPriority();
+    LocalDate getStartDate();
+    LocalDate getEstimatedEndDate();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,9 @@
+package org.example.repository.projection;
+
+/**
+ * Task id with the id of its project (null for standalone tasks).
+ */
+public interface TaskProjectRef {
+    Long getId();
+    Long getProjectId();
+}
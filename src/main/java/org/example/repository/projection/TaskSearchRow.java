@@ -0,0 +1,10 @@
+package org.example.repository.projection;
+
+/**
+ * The searchable text of a task, for building the in-memory search index.
+ */
+public interface TaskSearchRow {
+    Long getId();
+    String getName();
+    String getDescription();
+}
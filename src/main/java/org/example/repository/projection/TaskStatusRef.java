@@ -0,0 +1,12 @@
+package org.example.repository.projection;
+
+import org.example.models.enums.TaskStatus;
+
+/**
+ * Task id with its current status and organization id, for bulk operations.
+ */
+public interface TaskStatusRef {
+    Long getId();
+    TaskStatus getStatus();
+    Long getOrganizationId();
+}
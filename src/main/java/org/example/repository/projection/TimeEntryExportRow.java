@@ -0,0 +1,18 @@
+package org.example.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Flat time entry row for CSV/NDJSON exports.
+ */
+public interface TimeEntryExportRow {
+    Long getId();
+    Long getTaskId();
+    String getTaskName();
+    Long getProjectId();
+    Long getUserId();
+    String getUsername();
+    LocalDate getDateOfWork();
+    Long getDurationMinutes();
+    String getDescription();
+}
@@ -0,0 +1,22 @@
+package org.example.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat time log row for CSV/NDJSON exports.
+ */
+public interface TimeLogExportRow {
+    Long getId();
+    Long getTaskId();
+    String getTaskName();
+    Long getProjectId();
+    String getProjectName();
+    Long getUserId();
+    String getUsername();
+    LocalDate getDateLogged();
+    BigDecimal getHoursLogged();
+    String getWorkDescription();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,12 @@
+package org.example.repository.projection;
+
+/**
+ * The fields of a user shown in assignment pickers; loaded without the user's roles.
+ */
+public interface UserDirectoryRow {
+    Long getId();
+    String getUsername();
+    String getName();
+    String getEmail();
+    String getDesignation();
+}
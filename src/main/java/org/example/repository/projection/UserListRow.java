@@ -0,0 +1,56 @@
+package org.example.repository.projection;
+
+import java.util.List;
+
+/**
+ * One row of the admin user listing, with the user's role names sorted alphabetically.
+ */
+public final class UserListRow {
+
+    private final Long id;
+    private final String username;
+    private final String name;
+    private final String email;
+    private final boolean enabled;
+    private final String designation;
+    private final List<String> roles;
+
+    public UserListRow(Long id, String username, String name, String email, boolean enabled, String designation,
+                       List<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.name = name;
+        this.email = email;
+        this.enabled = enabled;
+        this.designation = designation;
+        this.roles = roles;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDesignation() {
+        return designation;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.service;
+
+import org.example.models.AttendanceEntry;
+import org.example.models.AttendanceState;
+import org.example.models.User;
+import org.example.repository.AttendanceEntryRepository;
+import org.example.repository.AttendanceStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Clock-in/clock-out workflow backed by the per-user attendance_state row.
+ */
+@Service
+public class AttendanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
+
+    private final AttendanceEntryRepository attendanceEntryRepository;
+    private final AttendanceStateRepository attendanceStateRepository;
+
+    @Autowired
+    public AttendanceService(AttendanceEntryRepository attendanceEntryRepository,
+                             AttendanceStateRepository attendanceStateRepository) {
+        this.attendanceEntryRepository = attendanceEntryRepository;
+        this.attendanceStateRepository = attendanceStateRepository;
+    }
+
+    /**
+     * Clocks the user in. The state transition and the entry insert commit together.
+     *
+     * @throws AttendanceStateException if the user is already clocked in today
+     */
+    @Transactional
+    public AttendanceEntry clockIn(User user, String notes) {
+        LocalDateTime now = LocalDateTime.now();
+        ensureStateRow(user.getId());
+        int updated = attendanceStateRepository.clockInIfNotClockedIn(user.getId(), now, now.toLocalDate().atStartOfDay());
+        if (updated == 0) {
+            LocalDateTime lastClockIn = attendanceStateRepository.findById(user.getId())
+                    .map(AttendanceState::getLastTimestamp)
+                    .orElse(null);
+            throw new AttendanceStateException("You are already clocked in for today", lastClockIn);
+        }
+        return recordEntry(user, AttendanceEntry.EntryType.CLOCK_IN, now, notes);
+    }
+
+    /**
+     * Clocks the user out.
+     *
+     * @throws AttendanceStateException if the user is not clocked in today
+     */
+    @Transactional
+    public AttendanceEntry clockOut(User user, String notes) {
+        LocalDateTime now = LocalDateTime.now();
+        ensureStateRow(user.getId());
+        int updated = attendanceStateRepository.clockOutIfClockedIn(user.getId(), now, now.toLocalDate().atStartOfDay());
+        if (updated == 0) {
+            throw new AttendanceStateException("You are not currently clocked in", null);
+        }
+        return recordEntry(user, AttendanceEntry.EntryType.CLOCK_OUT, now, notes);
+    }
+
+    /**
+     * Creates the state row before any conditional UPDATE touches it. Rows are seeded at user creation and
+     * backfilled at startup, so this is normally a plain primary-key read. The insert must never follow an
+     * UPDATE that matched nothing: on REPEATABLE READ that UPDATE holds a gap lock, and concurrent inserts
+     * into the same gap deadlock.
+     */
+    private void ensureStateRow(Long userId) {
+        if (!attendanceStateRepository.existsById(userId)) {
+            attendanceStateRepository.insertIfAbsent(userId);
+        }
+    }
+
+    private AttendanceEntry recordEntry(User user, AttendanceEntry.EntryType type, LocalDateTime timestamp, String notes) {
+        AttendanceEntry savedEntry = attendanceEntryRepository.save(new AttendanceEntry(user, type, timestamp, notes));
+        attendanceStateRepository.setLastEntryId(user.getId(), savedEntry.getId());
+        logger.debug("User {} recorded {} at {}", user.getUsername(), type, timestamp);
+        return savedEntry;
+    }
+
+    /**
+     * Returns the user's current state. Read-only: a user without a state row gets a snapshot of their latest
+     * entry, and the row itself is only created by the next clock-in or clock-out.
+     */
+    @Transactional(readOnly = true)
+    public AttendanceState getState(Long userId) {
+        return attendanceStateRepository.findById(userId)
+                .orElseGet(() -> attendanceEntryRepository.findLatestByUserId(userId)
+                        .map(entry -> new AttendanceState(userId, entry.getEntryType(), entry.getTimestamp(), entry.getId()))
+                        .orElseGet(() -> new AttendanceState(userId, null, null, null)));
+    }
+
+    /**
+     * Entries of a user on one day, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceEntry> getEntriesForDay(Long userId, LocalDate date) {
+        return attendanceEntryRepository.findByUserIdAndTimestampRange(
+                userId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Looks up an entry by id.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AttendanceEntry> findEntry(Long entryId) {
+        return entryId != null ? attendanceEntryRepository.findById(entryId) : Optional.empty();
+    }
+
+    /**
+     * Rejected clock-in/clock-out because of the user's current state.
+     */
+    public static class AttendanceStateException extends IllegalStateException {
+        private final LocalDateTime lastClockIn;
+
+        public AttendanceStateException(String message, LocalDateTime lastClockIn) {
+            super(message);
+            this.lastClockIn = lastClockIn;
+        }
+
+        public LocalDateTime getLastClockIn() {
+            return lastClockIn;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.service;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Security principal built by {@link UserDetailsServiceImpl}. Besides the usual credentials and authorities
+ * it carries the user's ID, organization ID and a bitmask of the known roles, so request handling can scope
+ * queries without loading the {@code User} entity again. Stored in the HTTP session, hence immutable apart
+ * from credential erasure.
+ */
+public final class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int ROLE_USER = 1;
+    public static final int ROLE_MANAGER = 1 << 1;
+    public static final int ROLE_PROJECT_MANAGER = 1 << 2;
+    public static final int ROLE_ADMIN = 1 << 3;
+
+    private final Long id;
+    private final Long organizationId;
+    private final String username;
+    private String password;
+    private final boolean enabled;
+    private final Set<GrantedAuthority> authorities;
+    private final int roleMask;
+
+    public AuthenticatedUser(Long id, Long organizationId, String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.organizationId = organizationId;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.authorities = Set.copyOf(authorities);
+        this.roleMask = roleMask(this.authorities);
+    }
+
+    /**
+     * A fresh instance with the same data, including the password; used to hand out cached principals.
+     */
+    AuthenticatedUser copy() {
+        return new AuthenticatedUser(id, organizationId, username, password, enabled, authorities);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return The organization ID, or null for users outside any organization.
+     */
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public int getRoleMask() {
+        return roleMask;
+    }
+
+    public boolean hasRole(int role) {
+        return (roleMask & role) != 0;
+    }
+
+    public boolean isAdmin() {
+        return hasRole(ROLE_ADMIN);
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    private static int roleMask(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            switch (authority.getAuthority()) {
+                case "ROLE_USER" -> mask |= ROLE_USER;
+                case "ROLE_MANAGER" -> mask |= ROLE_MANAGER;
+                case "ROLE_PROJECT_MANAGER" -> mask |= ROLE_PROJECT_MANAGER;
+                case "ROLE_ADMIN" -> mask |= ROLE_ADMIN;
+                default -> { }
+            }
+        }
+        return mask;
+    }
+
+    // Same identity rule as Spring's User, so session registries treat both alike
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AuthenticatedUser other && username.equals(other.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", username=" + username + ", organizationId=" + organizationId
+                + ", roleMask=" + roleMask + "]";
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.service;
+
+import org.example.models.Organization;
+import org.example.models.User;
+import org.example.repository.OrganizationRepository;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves the caller of the current request from the security context.
+ * <p>
+ * The {@link AuthenticatedUser} principal already carries the IDs most code needs, so nothing here queries
+ * the database; entity references are Hibernate proxies that only load if a non-ID property is read.
+ * Sessions created before the principal type existed hold a plain Spring {@code User}; those are upgraded
+ * through {@link UserDetailsServiceImpl}, which is cached.
+ */
+@Component
+public class CurrentUserResolver {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final UserRepository userRepository;
+    private final OrganizationRepository organizationRepository;
+
+    @Autowired
+    public CurrentUserResolver(UserDetailsServiceImpl userDetailsService,
+                               UserRepository userRepository,
+                               OrganizationRepository organizationRepository) {
+        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.organizationRepository = organizationRepository;
+    }
+
+    /**
+     * @return The authenticated caller, or empty for anonymous requests.
+     */
+    public Optional<AuthenticatedUser> findCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.of((AuthenticatedUser) userDetailsService.loadUserByUsername(authentication.getName()));
+    }
+
+    /**
+     * @return The authenticated caller if their username is {@code username} (compared case-insensitively,
+     *         like the database does), otherwise empty.
+     */
+    public Optional<AuthenticatedUser> findCurrentUser(String username) {
+        return findCurrentUser().filter(user -> username != null && user.getUsername().equalsIgnoreCase(username.trim()));
+    }
+
+    /**
+     * @throws IllegalStateException if the request is not authenticated.
+     */
+    public AuthenticatedUser getCurrentUser() {
+        return findCurrentUser().orElseThrow(() -> new IllegalStateException("No authenticated user found."));
+    }
+
+    public Long getUserId() {
+        return getCurrentUser().getId();
+    }
+
+    /**
+     * @return The caller's organization ID, or null if the caller belongs to no organization.
+     */
+    public Long getOrganizationId() {
+        return getCurrentUser().getOrganizationId();
+    }
+
+    /**
+     * Uninitialized reference to the caller's {@link User}, for setting associations and ID comparisons.
+     */
+    public User getUserReference() {
+        return userRepository.getReferenceById(getUserId());
+    }
+
+    /**
+     * Uninitialized reference to the caller's {@link Organization}, or null if there is none.
+     */
+    public Organization getOrganizationReference() {
+        Long organizationId = getOrganizationId();
+        return organizationId != null ? organizationRepository.getReferenceById(organizationId) : null;
+    }
+}
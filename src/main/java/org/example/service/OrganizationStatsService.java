@@ -0,0 +1,254 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.models.OrganizationStats;
+import org.example.models.enums.ProjectStatus;
+import org.example.repository.OrganizationRepository;
+import org.example.repository.OrganizationStatsRepository;
+import org.example.repository.projection.OrganizationCounts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Dashboard counters per organization, kept in the organization_stats table.
+ * <p>
+ * The record* methods apply deltas in the caller's transaction and evict the cached snapshot once it
+ * commits. Rows are created lazily by the first dashboard read and recomputed from the source tables
+ * on a schedule, which also corrects drift from writes that bypass the services.
+ */
+@Service
+public class OrganizationStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationStatsService.class);
+
+    static final String CACHE_NAME = "organizationStats";
+
+    private final OrganizationStatsRepository statsRepository;
+    private final OrganizationRepository organizationRepository;
+    private final TransactionTemplate reconcileTransaction;
+    private final Cache<Long, Snapshot> cache;
+
+    @Autowired
+    public OrganizationStatsService(OrganizationStatsRepository statsRepository,
+                                    OrganizationRepository organizationRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.dashboard.stats-cache.ttl:30s}") Duration ttl,
+                                    @Value("${app.dashboard.stats-cache.max-size:10000}") long maxSize,
+                                    MeterRegistry meterRegistry) {
+        this.statsRepository = statsRepository;
+        this.organizationRepository = organizationRepository;
+        // One short transaction per organization, so the reconciliation never holds locks across tenants
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the counters for an organization, served from memory when cached. A missing row is
+     * computed from the source tables and stored before it is returned.
+     */
+    public Snapshot getStats(Long organizationId) {
+        if (organizationId == null) {
+            throw new IllegalArgumentException("Organization ID cannot be null.");
+        }
+        return cache.get(organizationId, this::loadOrRefresh);
+    }
+
+    private Snapshot loadOrRefresh(Long organizationId) {
+        Optional<OrganizationStats> stats = statsRepository.findById(organizationId);
+        if (stats.isEmpty()) {
+            refresh(organizationId);
+            stats = statsRepository.findById(organizationId);
+        }
+        return stats.map(Snapshot::of).orElse(Snapshot.EMPTY);
+    }
+
+    // The repository method runs in its own short transaction
+    private void refresh(Long organizationId) {
+        try {
+            statsRepository.refresh(organizationId);
+        } catch (Exception e) {
+            logger.warn("Could not refresh stats for organization {}: {}", organizationId, e.getMessage());
+        }
+    }
+
+    // --- Incremental updates (must join the caller's transaction) ---
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUserAdded(Long organizationId) {
+        if (organizationId != null) {
+            statsRepository.addUsers(organizationId, 1);
+            evictAfterCommit(organizationId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProjectCreated(Long organizationId, ProjectStatus status) {
+        if (organizationId != null) {
+            statsRepository.addProjects(organizationId, 1, isActive(status) ? 1 : 0);
+            evictAfterCommit(organizationId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProjectDeleted(Long organizationId, ProjectStatus status) {
+        if (organizationId != null) {
+            statsRepository.addProjects(organizationId, -1, isActive(status) ? -1 : 0);
+            evictAfterCommit(organizationId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProjectStatusChanged(Long organizationId, ProjectStatus oldStatus, ProjectStatus newStatus) {
+        if (organizationId == null || isActive(oldStatus) == isActive(newStatus)) {
+            return;
+        }
+        statsRepository.addProjects(organizationId, 0, isActive(newStatus) ? 1 : -1);
+        evictAfterCommit(organizationId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskCreated(Long organizationId) {
+        if (organizationId != null) {
+            statsRepository.addTasks(organizationId, 1);
+            evictAfterCommit(organizationId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskDeleted(Long organizationId) {
+        recordTasksDeleted(organizationId, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTasksDeleted(Long organizationId, int count) {
+        if (organizationId != null && count > 0) {
+            statsRepository.addTasks(organizationId, -count);
+            evictAfterCommit(organizationId);
+        }
+    }
+
+    /**
+     * Recomputes every organization's counters from the source tables, one organization per transaction.
+     * The counts are read with plain SELECTs, which take no locks on users, projects or tasks; only the
+     * organization's own stats row is locked, by the UPDATE that stores them. Organizations without a row
+     * are skipped and get one on their first dashboard read.
+     *
+     * @return The number of organizations whose row was updated.
+     */
+    public int rebuild() {
+        int updated = 0;
+        for (Long organizationId : organizationRepository.findAllIds()) {
+            try {
+                Boolean applied = reconcileTransaction.execute(status -> reconcile(organizationId));
+                if (Boolean.TRUE.equals(applied)) {
+                    updated++;
+                }
+            } catch (Exception e) {
+                logger.warn("Could not reconcile stats for organization {}: {}", organizationId, e.getMessage());
+            }
+        }
+        logger.info("Recomputed organization stats ({} organizations updated)", updated);
+        return updated;
+    }
+
+    private boolean reconcile(Long organizationId) {
+        OrganizationCounts counts = statsRepository.countSources(organizationId);
+        int updated = statsRepository.applyCounts(organizationId, counts.getTotalUsers(), counts.getTotalProjects(),
+                counts.getTotalTasks(), counts.getActiveProjects(), LocalDateTime.now());
+        if (updated > 0) {
+            evictAfterCommit(organizationId);
+        }
+        return updated > 0;
+    }
+
+    /**
+     * Periodic reconciliation of the incrementally maintained counters. A delta committed between an
+     * organization's count and its UPDATE is overwritten; the next run corrects it.
+     */
+    @Scheduled(cron = "${app.dashboard.stats.reconcile-cron:0 15 * * * *}")
+    public void scheduledReconcile() {
+        rebuild();
+    }
+
+    // Matches ProjectService.countActiveProjectsByOrganization
+    private static boolean isActive(ProjectStatus status) {
+        return status != ProjectStatus.COMPLETED;
+    }
+
+    private void evictAfterCommit(Long organizationId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(organizationId);
+                }
+            });
+        } else {
+            cache.invalidate(organizationId);
+        }
+    }
+
+    /**
+     * Immutable copy of an organization_stats row, safe to share between requests.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0);
+
+        private final long totalUsers;
+        private final long totalProjects;
+        private final long totalTasks;
+        private final long activeProjects;
+
+        private Snapshot(long totalUsers, long totalProjects, long totalTasks, long activeProjects) {
+            this.totalUsers = totalUsers;
+            this.totalProjects = totalProjects;
+            this.totalTasks = totalTasks;
+            this.activeProjects = activeProjects;
+        }
+
+        static Snapshot of(OrganizationStats stats) {
+            return new Snapshot(stats.getTotalUsers(), stats.getTotalProjects(),
+                    stats.getTotalTasks(), stats.getActiveProjects());
+        }
+
+        public long getTotalUsers() {
+            return totalUsers;
+        }
+
+        public long getTotalProjects() {
+            return totalProjects;
+        }
+
+        public long getTotalTasks() {
+            return totalTasks;
+        }
+
+        public long getActiveProjects() {
+            return activeProjects;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.dto.ProjectFilter;
+import org.example.models.enums.ProjectCategory;
+import org.example.models.enums.ProjectPriority;
+import org.example.models.enums.ProjectStage;
+import org.example.models.enums.ProjectStatus;
+import org.example.repository.ProjectFacetRepository;
+import org.example.repository.ProjectSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Project counts per category, priority, status and stage for the projects grid.
+ * <p>
+ * Each facet is counted under the other facets' selections but not its own, so the grid can show what
+ * picking another value would yield. The grouped buckets for a whole organization are cached for a short
+ * TTL and evicted when a project write commits; requests that also filter by client, location, dates or
+ * budget run the grouped query directly.
+ */
+@Service
+public class ProjectFacetService {
+
+    static final String CACHE_NAME = "projectFacets";
+
+    private final ProjectFacetRepository facetRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TransactionTemplate loadTransaction;
+    private final Cache<Long, List<ProjectFacetRepository.Bucket>> cache;
+
+    @Autowired
+    public ProjectFacetService(ProjectFacetRepository facetRepository,
+                               CurrentUserResolver currentUserResolver,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.projects.facet-cache.ttl:30s}") Duration ttl,
+                               @Value("${app.projects.facet-cache.max-size:10000}") long maxSize,
+                               MeterRegistry meterRegistry) {
+        this.facetRepository = facetRepository;
+        this.currentUserResolver = currentUserResolver;
+        // Cached counts are loaded in a read-write transaction so they come from the primary: a lagging
+        // replica could miss a write whose eviction already ran, and the stale counts would then be cached
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(false);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Facet counts over the current user's organization; empty counts if the user has none. Filtered
+     * requests are not cached and may read a replica; the cached per-organization counts are read from
+     * the primary.
+     */
+    @Transactional(readOnly = true)
+    public Facets getFacets(ProjectFilter filter) {
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null) {
+            return Facets.of(List.of(), filter);
+        }
+        List<ProjectFacetRepository.Bucket> buckets = filter != null && filter.hasAttributeFilters()
+                ? facetRepository.countByFacets(ProjectSpecifications.matchingAttributes(organizationId, filter))
+                : cache.get(organizationId, this::loadFromPrimary);
+        return Facets.of(buckets, filter);
+    }
+
+    private List<ProjectFacetRepository.Bucket> loadFromPrimary(Long organizationId) {
+        return loadTransaction.execute(
+                status -> facetRepository.countByFacets(ProjectSpecifications.inOrganization(organizationId)));
+    }
+
+    /**
+     * Drops an organization's cached counts once the caller's transaction commits.
+     */
+    public void recordProjectsChanged(Long organizationId) {
+        if (organizationId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(organizationId);
+                }
+            });
+        } else {
+            cache.invalidate(organizationId);
+        }
+    }
+
+    /**
+     * Per-value counts for each facet. Every enum value is present, with zero when no project matches.
+     */
+    public static final class Facets {
+
+        private final Map<ProjectCategory, Long> category;
+        private final Map<ProjectPriority, Long> priority;
+        private final Map<ProjectStatus, Long> status;
+        private final Map<ProjectStage, Long> stage;
+
+        private Facets(Map<ProjectCategory, Long> category, Map<ProjectPriority, Long> priority,
+                       Map<ProjectStatus, Long> status, Map<ProjectStage, Long> stage) {
+            this.category = Collections.unmodifiableMap(category);
+            this.priority = Collections.unmodifiableMap(priority);
+            this.status = Collections.unmodifiableMap(status);
+            this.stage = Collections.unmodifiableMap(stage);
+        }
+
+        static Facets of(List<ProjectFacetRepository.Bucket> buckets, ProjectFilter filter) {
+            Map<ProjectCategory, Long> category = zeroCounts(ProjectCategory.class);
+            Map<ProjectPriority, Long> priority = zeroCounts(ProjectPriority.class);
+            Map<ProjectStatus, Long> status = zeroCounts(ProjectStatus.class);
+            Map<ProjectStage, Long> stage = zeroCounts(ProjectStage.class);
+
+            for (ProjectFacetRepository.Bucket bucket : buckets) {
+                boolean categoryMatches = filter == null || selects(filter.getCategory(), bucket.getCategory());
+                boolean priorityMatches = filter == null || selects(filter.getPriority(), bucket.getPriority());
+                boolean statusMatches = filter == null || selects(filter.getStatus(), bucket.getStatus());
+                boolean stageMatches = filter == null || selects(filter.getStage(), bucket.getStage());
+
+                if (priorityMatches && statusMatches && stageMatches && bucket.getCategory() != null) {
+                    category.merge(bucket.getCategory(), bucket.getCount(), Long::sum);
+                }
+                if (categoryMatches && statusMatches && stageMatches && bucket.getPriority() != null) {
+                    priority.merge(bucket.getPriority(), bucket.getCount(), Long::sum);
+                }
+                if (categoryMatches && priorityMatches && stageMatches && bucket.getStatus() != null) {
+                    status.merge(bucket.getStatus(), bucket.getCount(), Long::sum);
+                }
+                if (categoryMatches && priorityMatches && statusMatches && bucket.getStage() != null) {
+                    stage.merge(bucket.getStage(), bucket.getCount(), Long::sum);
+                }
+            }
+            return new Facets(category, priority, status, stage);
+        }
+
+        private static <E extends Enum<E>> boolean selects(E selected, E value) {
+            return selected == null || selected == value;
+        }
+
+        private static <E extends Enum<E>> Map<E, Long> zeroCounts(Class<E> type) {
+            Map<E, Long> counts = new EnumMap<>(type);
+            for (E value : type.getEnumConstants()) {
+                counts.put(value, 0L);
+            }
+            return counts;
+        }
+
+        public Map<ProjectCategory, Long> getCategory() {
+            return category;
+        }
+
+        public Map<ProjectPriority, Long> getPriority() {
+            return priority;
+        }
+
+        public Map<ProjectStatus, Long> getStatus() {
+            return status;
+        }
+
+        public Map<ProjectStage, Long> getStage() {
+            return stage;
+        }
+    }
+}
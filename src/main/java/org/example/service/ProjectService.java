@@ -2,12 +2,15 @@
 package org.example.service;
 
 import org.example.dto.ProjectCreateDto;
+import org.example.dto.ProjectFilter;
 import org.example.dto.ProjectUpdateDto;
 import org.example.models.Project;
 import org.example.models.User;
 import org.example.repository.ProjectRepository;
+import org.example.repository.ProjectSpecifications;
 import org.example.repository.TaskRepository; // Import TaskRepository
 import org.example.repository.UserRepository;
+import org.example.repository.projection.ProjectSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,16 +22,18 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.example.models.enums.ProjectStatus;
 import org.example.models.enums.ProjectCategory;
 import org.example.models.enums.ProjectPriority;
+import org.example.models.enums.ProjectStage;
 
 @Service
 public class ProjectService {
@@ -38,12 +43,22 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository; // Inject UserRepository
     private final TaskRepository taskRepository; // Added TaskRepository
+    private final OrganizationStatsService organizationStatsService;
+    private final ProjectFacetService projectFacetService;
+    private final SearchIndexService searchIndexService;
+    private final CurrentUserResolver currentUserResolver;
 
     @Autowired
-    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository, TaskRepository taskRepository) {
+    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository, TaskRepository taskRepository,
+                          OrganizationStatsService organizationStatsService, ProjectFacetService projectFacetService,
+                          SearchIndexService searchIndexService, CurrentUserResolver currentUserResolver) {
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
         this.taskRepository = taskRepository; // Initialize TaskRepository
+        this.organizationStatsService = organizationStatsService;
+        this.projectFacetService = projectFacetService;
+        this.searchIndexService = searchIndexService;
+        this.currentUserResolver = currentUserResolver;
     }
 
     @Transactional
@@ -70,6 +85,9 @@ public class ProjectService {
         // Assuming Project entity handles createdAt/updatedAt via @PrePersist/@PreUpdate
 
         Project savedProject = projectRepository.save(newProject);
+        organizationStatsService.recordProjectCreated(savedProject.getOrganizationId(), savedProject.getStatus());
+        projectFacetService.recordProjectsChanged(savedProject.getOrganizationId());
+        searchIndexService.recordProjectSaved(savedProject);
         logger.info("Project created successfully with ID: {} and name: {}", savedProject.getId(), savedProject.getName());
         return savedProject;
     }
@@ -85,31 +103,86 @@ public class ProjectService {
         return projectRepository.findByName(name.trim());
     }
 
+    /**
+     * Best matches for a name, client or location fragment within the current user's organization, from the
+     * search index. An empty fragment matches nothing.
+     */
+    @Transactional(readOnly = true)
     public List<Project> findByNameContaining(String nameFragment) { // Renamed for consistency
         if (nameFragment == null || nameFragment.trim().isEmpty()) {
-            return projectRepository.findAll(); // Or return empty list based on desired behavior
+            return List.of();
         }
-        return projectRepository.findByNameContainingIgnoreCase(nameFragment.trim());
+        List<Long> ids = searchIndexService.findProjectIds(nameFragment, SearchIndexService.MAX_PAGE_SIZE);
+        Map<Long, Project> byId = new HashMap<>();
+        projectRepository.findAllById(ids).forEach(project -> byId.put(project.getId(), project));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
     public List<Project> findAllProjects() { // Renamed for consistency
         return projectRepository.findAll();
     }
     
-    public List<Project> findProjectsByOrganization(String username) {
+    // Callers pass their own username, which the session principal already resolves; other users are looked up
+    private Long organizationIdOf(String username) {
+        Optional<AuthenticatedUser> current = currentUserResolver.findCurrentUser(username);
+        if (current.isPresent()) {
+            return current.get().getOrganizationId();
+        }
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return user.getOrganization() != null ? user.getOrganization().getId() : null;
+    }
+
+    public List<Project> findProjectsByOrganization(String username) {
+        Long organizationId = organizationIdOf(username);
         
-        if (user.getOrganization() == null) {
+        if (organizationId == null) {
             logger.warn("User {} does not belong to any organization. Returning empty project list.", username);
             return List.of(); // Return empty list
         }
         
-        // This would require adding a method to ProjectRepository
-        // For now, let's filter from all projects (not optimal for large datasets)
-        return projectRepository.findAll().stream()
-                .filter(project -> Objects.equals(project.getOrganization(), user.getOrganization()))
-                .collect(Collectors.toList());
+        return projectRepository.findByOrganization_Id(organizationId, Sort.by("id"));
+    }
+
+    /**
+     * Retrieves one keyset page of project summaries for a user's organization.
+     * The cursor is the last project ID of the previous page, so the cost of a page
+     * does not grow with how far the caller has scrolled or with the number of tenants.
+     *
+     * @param username The username of the user
+     * @param afterId  The last project ID already seen, or null to start from the beginning
+     * @param limit    The maximum number of summaries to return
+     * @return A map containing the summaries, the next cursor and whether more rows exist
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> findProjectSummariesByOrganization(String username, Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero.");
+        }
+        Long organizationId = organizationIdOf(username);
+
+        Map<String, Object> response = new HashMap<>();
+        if (organizationId == null) {
+            logger.warn("User {} does not belong to any organization. Returning empty project summary list.", username);
+            response.put("projects", List.of());
+            response.put("nextCursor", null);
+            response.put("hasNext", false);
+            return response;
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<ProjectSummary> rows = projectRepository.findSummariesByOrganizationAfter(
+                organizationId,
+                afterId != null ? afterId : 0L,
+                PageRequest.of(0, limit + 1));
+
+        boolean hasNext = rows.size() > limit;
+        List<ProjectSummary> page = hasNext ? rows.subList(0, limit) : rows;
+
+        response.put("projects", page);
+        response.put("nextCursor", hasNext ? page.get(page.size() - 1).getId() : null);
+        response.put("hasNext", hasNext);
+        return response;
     }
 
     /**
@@ -195,6 +268,9 @@ public class ProjectService {
         logger.info("Creating project '{}' for organization: {}", project.getName(), creator.getOrganization().getName());
 
         Project savedProject = projectRepository.save(project); // Project is saved with organization
+        organizationStatsService.recordProjectCreated(savedProject.getOrganizationId(), savedProject.getStatus());
+        projectFacetService.recordProjectsChanged(savedProject.getOrganizationId());
+        searchIndexService.recordProjectSaved(savedProject);
 
         // Initialize the set if it's null (important for new users or if not eagerly fetched before)
         if (creator.getAccessibleProjects() == null) {
@@ -291,6 +367,8 @@ public class ProjectService {
 
         if (projectUpdateDto.getStatus() != null) {
             if (!Objects.equals(projectToUpdate.getStatus(), projectUpdateDto.getStatus())) {
+                organizationStatsService.recordProjectStatusChanged(projectToUpdate.getOrganizationId(),
+                        projectToUpdate.getStatus(), projectUpdateDto.getStatus());
                 projectToUpdate.setStatus(projectUpdateDto.getStatus());
                 updated = true;
             }
@@ -336,6 +414,8 @@ public class ProjectService {
 
         if (updated) {
             Project savedProject = projectRepository.save(projectToUpdate);
+            projectFacetService.recordProjectsChanged(savedProject.getOrganizationId());
+            searchIndexService.recordProjectSaved(savedProject);
             logger.info("Project ID {} updated. New name: {}", savedProject.getId(), savedProject.getName());
             return Optional.of(savedProject);
         }
@@ -372,6 +452,9 @@ public class ProjectService {
         projectRepository.save(project);
 
         projectRepository.deleteById(projectId);
+        organizationStatsService.recordProjectDeleted(project.getOrganizationId(), project.getStatus());
+        projectFacetService.recordProjectsChanged(project.getOrganizationId());
+        searchIndexService.recordProjectDeleted(project.getOrganizationId(), projectId);
         logger.info("Project with ID: {} deleted successfully.", projectId);
         return true;
     }
@@ -382,22 +465,46 @@ public class ProjectService {
     }
 
     /**
-     * Retrieves paginated and filtered projects for a user's organization.
+     * Resolves request parameters into a {@link ProjectFilter}. Blank values mean no restriction; unknown enum
+     * values are ignored with a warning, as the grid sends whatever the user picked.
+     *
+     * @throws IllegalArgumentException if a range is inverted
+     */
+    public ProjectFilter buildFilter(String category, String priority, String status, String stage,
+                                     String clientName, String location,
+                                     LocalDate startDateFrom, LocalDate startDateTo,
+                                     BigDecimal budgetMin, BigDecimal budgetMax) {
+        if (startDateFrom != null && startDateTo != null && startDateFrom.isAfter(startDateTo)) {
+            throw new IllegalArgumentException("Start date range is inverted.");
+        }
+        if (budgetMin != null && budgetMax != null && budgetMin.compareTo(budgetMax) > 0) {
+            throw new IllegalArgumentException("Budget range is inverted.");
+        }
+        return new ProjectFilter(
+                parseFilterValue(ProjectCategory.class, category, "category"),
+                parseFilterValue(ProjectPriority.class, priority, "priority"),
+                parseFilterValue(ProjectStatus.class, status, "status"),
+                parseFilterValue(ProjectStage.class, stage, "stage"),
+                trimToNull(clientName),
+                trimToNull(location),
+                startDateFrom, startDateTo, budgetMin, budgetMax);
+    }
+
+    /**
+     * Retrieves paginated and filtered projects for a user's organization. Only the supplied filters become
+     * predicates, and the count query is skipped when the page itself shows the total.
      *
      * @param username The username of the user
      * @param page The page number (0-based)
      * @param size The number of projects per page
-     * @param category Optional project category filter
-     * @param priority Optional project priority filter
-     * @param status Optional project status filter
+     * @param filter Filters from {@link #buildFilter}; null lists everything
      * @return A map containing paginated projects and metadata
      */
-    public Map<String, Object> findProjectsPaginatedAndFiltered(String username, int page, int size, 
-                                                                String category, String priority, String status) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    @Transactional(readOnly = true)
+    public Map<String, Object> findProjectsPaginatedAndFiltered(String username, int page, int size, ProjectFilter filter) {
+        Long organizationId = organizationIdOf(username);
         
-        if (user.getOrganization() == null) {
+        if (organizationId == null) {
             logger.warn("User {} does not belong to any organization. Returning empty project list.", username);
             Map<String, Object> emptyResponse = new HashMap<>();
             emptyResponse.put("projects", List.of());
@@ -409,46 +516,12 @@ public class ProjectService {
             return emptyResponse;
         }
 
-        // Parse category, priority, and status filters
-        ProjectCategory categoryFilter = null;
-        ProjectPriority priorityFilter = null;
-        ProjectStatus statusFilter = null;
-        
-        if (category != null && !category.trim().isEmpty()) {
-            try {
-                categoryFilter = ProjectCategory.valueOf(category.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                logger.warn("Invalid project category filter: {}", category);
-            }
-        }
-        
-        if (priority != null && !priority.trim().isEmpty()) {
-            try {
-                priorityFilter = ProjectPriority.valueOf(priority.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                logger.warn("Invalid project priority filter: {}", priority);
-            }
-        }
-        
-        if (status != null && !status.trim().isEmpty()) {
-            try {
-                statusFilter = ProjectStatus.valueOf(status.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                logger.warn("Invalid project status filter: {}", status);
-            }
-        }
-
         // Create pageable with sorting
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         
         // Get paginated and filtered projects
-        Page<Project> projectPage = projectRepository.findByOrganizationAndFilters(
-            user.getOrganization().getId(), 
-            categoryFilter, 
-            priorityFilter, 
-            statusFilter,
-            pageable
-        );
+        Page<Project> projectPage = projectRepository.findAll(
+                ProjectSpecifications.matching(organizationId, filter), pageable);
 
         Map<String, Object> response = new HashMap<>();
         response.put("projects", projectPage.getContent());
@@ -463,4 +536,20 @@ public class ProjectService {
         
         return response;
     }
-}
\ No newline at end of file
+
+    private <E extends Enum<E>> E parseFilterValue(Class<E> type, String value, String name) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project {} filter: {}", name, value);
+            return null;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
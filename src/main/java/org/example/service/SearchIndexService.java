@@ -0,0 +1,301 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.dto.TaskRowDto;
+import org.example.models.Project;
+import org.example.models.Task;
+import org.example.repository.ProjectRepository;
+import org.example.repository.TaskRepository;
+import org.example.repository.projection.ProjectSummary;
+import org.example.repository.projection.TaskSearchRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead search over project names, clients and locations and task names and descriptions, served from
+ * an in-memory {@link TrigramIndex} per organization instead of leading-wildcard LIKE scans.
+ * <p>
+ * An organization's index is built from the database on its first search and then kept current by the
+ * record* methods, which the project and task services call on every write; changes are applied once the
+ * transaction commits. Indexes of organizations that have not searched for a while are dropped.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    static final String CACHE_NAME = "searchIndexes";
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TransactionTemplate loadTransaction;
+    private final Cache<Long, TenantIndex> tenants;
+
+    @Autowired
+    public SearchIndexService(ProjectRepository projectRepository,
+                              TaskRepository taskRepository,
+                              CurrentUserResolver currentUserResolver,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.search.index.idle-ttl:30m}") Duration idleTtl,
+                              @Value("${app.search.index.max-organizations:1000}") long maxOrganizations,
+                              MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.currentUserResolver = currentUserResolver;
+        // A separate read-write transaction, so the initial load reads the primary rather than a lagging
+        // replica: writes it missed would never reach an index that stays cached while it is in use
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(false);
+        this.tenants = Caffeine.newBuilder()
+                .expireAfterAccess(idleTtl)
+                .maximumSize(maxOrganizations)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tenants, CACHE_NAME);
+    }
+
+    /**
+     * Ranked project search within the current user's organization.
+     *
+     * @return A map with the page of matching project summaries and pagination metadata
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchProjects(String query, int page, int size) {
+        validatePage(page, size);
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null) {
+            return toResponse("projects", List.of(), 0, page, size);
+        }
+        TrigramIndex.Hits hits = loadedTenant(organizationId).projects.search(query, page * size, size);
+        List<ProjectSummary> rows = hits.getIds().isEmpty() ? List.of()
+                : inHitOrder(hits.getIds(), projectRepository.findSummariesByIdIn(hits.getIds()), ProjectSummary::getId);
+        return toResponse("projects", rows, hits.getTotal(), page, size);
+    }
+
+    /**
+     * Ranked task search within the current user's organization.
+     *
+     * @return A map with the page of matching task rows and pagination metadata
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchTasks(String query, int page, int size) {
+        validatePage(page, size);
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null) {
+            return toResponse("tasks", List.of(), 0, page, size);
+        }
+        TrigramIndex.Hits hits = loadedTenant(organizationId).tasks.search(query, page * size, size);
+        List<TaskRowDto> rows = hits.getIds().isEmpty() ? List.of()
+                : inHitOrder(hits.getIds(), taskRepository.findRowsByIdIn(hits.getIds()), TaskRowDto::getId);
+        return toResponse("tasks", rows, hits.getTotal(), page, size);
+    }
+
+    /**
+     * IDs of the current organization's best matching projects, best first.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findProjectIds(String query, int limit) {
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null) {
+            return List.of();
+        }
+        return loadedTenant(organizationId).projects.search(query, 0, limit).getIds();
+    }
+
+    // --- Incremental updates, applied after the caller's transaction commits ---
+
+    public void recordProjectSaved(Project project) {
+        Long organizationId = project.getOrganizationId();
+        if (organizationId == null) {
+            return;
+        }
+        long projectId = project.getId();
+        String name = project.getName();
+        String clientName = project.getClientName();
+        String location = project.getLocation();
+        afterCommit(() -> {
+            TenantIndex tenant = tenants.getIfPresent(organizationId);
+            if (tenant != null) {
+                tenant.projects.put(projectId, name, clientName, location);
+            }
+        });
+    }
+
+    public void recordProjectDeleted(Long organizationId, Long projectId) {
+        if (organizationId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            TenantIndex tenant = tenants.getIfPresent(organizationId);
+            if (tenant != null) {
+                if (!tenant.loaded) {
+                    tenant.removedProjects.add(projectId);
+                }
+                tenant.projects.remove(projectId);
+            }
+        });
+    }
+
+    public void recordTaskSaved(Task task) {
+        Long organizationId = task.getOrganizationId();
+        if (organizationId == null) {
+            return;
+        }
+        long taskId = task.getId();
+        String name = task.getName();
+        String description = task.getDescription();
+        afterCommit(() -> {
+            TenantIndex tenant = tenants.getIfPresent(organizationId);
+            if (tenant != null) {
+                tenant.tasks.put(taskId, name, description);
+            }
+        });
+    }
+
+    public void recordTasksDeleted(Long organizationId, Collection<Long> taskIds) {
+        if (organizationId == null) {
+            return;
+        }
+        List<Long> ids = List.copyOf(taskIds);
+        afterCommit(() -> {
+            TenantIndex tenant = tenants.getIfPresent(organizationId);
+            if (tenant != null) {
+                for (Long taskId : ids) {
+                    if (!tenant.loaded) {
+                        tenant.removedTasks.add(taskId);
+                    }
+                    tenant.tasks.remove(taskId);
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // --- Loading ---
+
+    private TenantIndex loadedTenant(Long organizationId) {
+        TenantIndex tenant = tenants.get(organizationId, id -> new TenantIndex());
+        if (!tenant.loaded) {
+            // A lock rather than a monitor: waiting on a monitor would pin virtual threads for the whole build
+            tenant.loadLock.lock();
+            try {
+                if (!tenant.loaded) {
+                    loadTransaction.executeWithoutResult(status -> load(organizationId, tenant));
+                    tenant.loaded = true;
+                    tenant.removedProjects.clear();
+                    tenant.removedTasks.clear();
+                }
+            } finally {
+                tenant.loadLock.unlock();
+            }
+        }
+        return tenant;
+    }
+
+    // Writes that commit while this runs are already in the index (putIfAbsent keeps them) or recorded as
+    // removed; the re-check after each put covers a removal that lands between the check and the put.
+    private void load(Long organizationId, TenantIndex tenant) {
+        long started = System.nanoTime();
+        try (Stream<ProjectSummary> rows = projectRepository.streamSummariesByOrganizationId(organizationId)) {
+            rows.forEach(row -> {
+                if (tenant.projects.putIfAbsent(row.getId(), row.getName(), row.getClientName(), row.getLocation())
+                        && tenant.removedProjects.contains(row.getId())) {
+                    tenant.projects.remove(row.getId());
+                }
+            });
+        }
+        try (Stream<TaskSearchRow> rows = taskRepository.streamSearchRowsByOrganizationId(organizationId)) {
+            rows.forEach(row -> {
+                if (tenant.tasks.putIfAbsent(row.getId(), row.getName(), row.getDescription())
+                        && tenant.removedTasks.contains(row.getId())) {
+                    tenant.tasks.remove(row.getId());
+                }
+            });
+        }
+        logger.info("Built search index for organization {}: {} projects, {} tasks in {} ms", organizationId,
+                tenant.projects.size(), tenant.tasks.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    private static <T> List<T> inHitOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    private static Map<String, Object> toResponse(String key, List<?> rows, int total, int page, int size) {
+        int totalPages = (total + size - 1) / size;
+        Map<String, Object> response = new HashMap<>();
+        response.put(key, rows);
+        response.put("currentPage", page);
+        response.put("totalItems", total);
+        response.put("totalPages", totalPages);
+        response.put("hasNext", page + 1 < totalPages);
+        response.put("hasPrevious", page > 0);
+        return response;
+    }
+
+    private static final class TenantIndex {
+        final TrigramIndex projects = new TrigramIndex();
+        final TrigramIndex tasks = new TrigramIndex();
+        // Deletes seen before the initial load finishes, so it does not re-add them
+        final Set<Long> removedProjects = ConcurrentHashMap.newKeySet();
+        final Set<Long> removedTasks = ConcurrentHashMap.newKeySet();
+        final ReentrantLock loadLock = new ReentrantLock();
+        volatile boolean loaded;
+    }
+}
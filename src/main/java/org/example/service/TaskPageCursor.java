@@ -0,0 +1,64 @@
+package org.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination over tasks ordered by
+ * {@code updatedAt DESC, id DESC}. The token encodes the sort key of the last row returned;
+ * the next page starts strictly after it, so no OFFSET scan is needed.
+ */
+final class TaskPageCursor {
+
+    // Sentinel used for the first page: sorts after every real row
+    private static final TaskPageCursor START = new TaskPageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime updatedAt;
+    private final Long id;
+
+    private TaskPageCursor(LocalDateTime updatedAt, Long id) {
+        this.updatedAt = updatedAt;
+        this.id = id;
+    }
+
+    static TaskPageCursor after(LocalDateTime updatedAt, Long id) {
+        return new TaskPageCursor(updatedAt, id);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}. A null or blank token means the first page.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static TaskPageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new TaskPageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    String encode() {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.service;
+
+import org.example.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Task edit permission: a user may edit a task they are assigned to, reported, or were asked to check.
+ * <p>
+ * Each check is one query on the task's foreign key columns and never loads the task or its users.
+ * Registered as {@code taskPermissions} for use in security expressions, e.g.
+ * {@code @PreAuthorize("@taskPermissions.canEdit(#taskId)")}.
+ */
+@Component("taskPermissions")
+public class TaskPermissionEvaluator {
+
+    // Keeps the IN list well below MySQL's packet and optimizer limits
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final TaskRepository taskRepository;
+    private final CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    public TaskPermissionEvaluator(TaskRepository taskRepository, CurrentUserResolver currentUserResolver) {
+        this.taskRepository = taskRepository;
+        this.currentUserResolver = currentUserResolver;
+    }
+
+    /**
+     * @return Whether the authenticated caller may edit the task; false for anonymous callers.
+     */
+    public boolean canEdit(Long taskId) {
+        return currentUserResolver.findCurrentUser()
+                .map(user -> canEdit(taskId, user.getId()))
+                .orElse(false);
+    }
+
+    public boolean canEdit(Long taskId, Long userId) {
+        if (taskId == null || userId == null) {
+            return false;
+        }
+        return taskRepository.isEditableByUser(taskId, userId);
+    }
+
+    /**
+     * Filters a page of task IDs down to those the authenticated caller may edit, in one query per
+     * {@value #MAX_IDS_PER_QUERY} IDs.
+     */
+    public Set<Long> filterEditable(Collection<Long> taskIds) {
+        return currentUserResolver.findCurrentUser()
+                .map(user -> filterEditable(taskIds, user.getId()))
+                .orElse(Set.of());
+    }
+
+    public Set<Long> filterEditable(Collection<Long> taskIds, Long userId) {
+        if (taskIds == null || taskIds.isEmpty() || userId == null) {
+            return Set.of();
+        }
+        List<Long> ids = taskIds.stream().filter(Objects::nonNull).distinct().toList();
+        Set<Long> editable = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            editable.addAll(taskRepository.findIdsEditableByUser(chunk, userId));
+        }
+        return editable;
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.service;
 
+import org.example.dto.TaskBulkOperationDto;
+import org.example.dto.TaskRowDto;
 import org.example.models.Project;
 import org.example.models.Task;
 import org.example.models.enums.TaskStatus;
@@ -8,64 +10,79 @@ import org.example.models.enums.TaskPriority;
 import org.example.models.User;
 import org.example.repository.ProjectRepository;
 import org.example.repository.TaskRepository;
+import org.example.repository.TimeLogRepository;
 import org.example.repository.UserRepository;
-// import org.example.repository.TimeLogRepository; // Keep for when you implement TimeLog deletion logic
+import org.example.repository.projection.TaskStatusRef;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    // Upper bound on task IDs per bulk request; keeps each IN list and the transaction short
+    static final int MAX_BULK_TASKS = 500;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    // private final TimeLogRepository timeLogRepository; // For handling related time entries
+    private final TimeLogRollupService timeLogRollupService;
+    private final OrganizationStatsService organizationStatsService;
+    private final CurrentUserResolver currentUserResolver;
+    private final TaskPermissionEvaluator taskPermissionEvaluator;
+    private final TimeLogRepository timeLogRepository;
+    private final SearchIndexService searchIndexService;
 
     @Autowired
     public TaskService(TaskRepository taskRepository,
                        ProjectRepository projectRepository,
-                       UserRepository userRepository
-            /*, TimeLogRepository timeLogRepository */) {
+                       UserRepository userRepository,
+                       TimeLogRollupService timeLogRollupService,
+                       OrganizationStatsService organizationStatsService,
+                       CurrentUserResolver currentUserResolver,
+                       TaskPermissionEvaluator taskPermissionEvaluator,
+                       TimeLogRepository timeLogRepository,
+                       SearchIndexService searchIndexService) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
-        // this.timeLogRepository = timeLogRepository;
+        this.timeLogRollupService = timeLogRollupService;
+        this.organizationStatsService = organizationStatsService;
+        this.currentUserResolver = currentUserResolver;
+        this.taskPermissionEvaluator = taskPermissionEvaluator;
+        this.timeLogRepository = timeLogRepository;
+        this.searchIndexService = searchIndexService;
     }
 
     /**
      * Helper method to get the currently authenticated user.
-     * @return The authenticated User entity.
-     * @throws IllegalStateException if the authenticated user cannot be found in the database.
+     * @return An uninitialized reference built from the session principal; reading anything but the ID loads it.
+     * @throws IllegalStateException if no user is authenticated.
      */
     private User getCurrentAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal().equals("anonymousUser")) {
-            throw new IllegalStateException("No authenticated user found.");
-        }
-        String username;
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user '" + username + "' not found in database."));
+        return currentUserResolver.getUserReference();
     }
 
     @Transactional
@@ -101,21 +118,69 @@ public class TaskService {
         newTask.setDescription(description != null ? description.trim() : null);
         newTask.setProjectStage(projectStage);
         newTask.setProject(project);
+        // Project tasks belong to the project's organization; standalone tasks to the reporter's
+        newTask.setOrganization(project != null ? project.getOrganization() : currentUserResolver.getOrganizationReference());
         newTask.setReporter(reporter);
         newTask.setAssignee(assignee);
         newTask.setCheckedBy(checkedBy);
         newTask.setStatus(TaskStatus.TO_DO); // Default status
         // createdAt and updatedAt are handled by @PrePersist in Task entity
 
-        return taskRepository.save(newTask);
+        Task savedTask = taskRepository.save(newTask);
+        organizationStatsService.recordTaskCreated(savedTask.getOrganizationId());
+        searchIndexService.recordTaskSaved(savedTask);
+        return savedTask;
     }
 
     public Optional<Task> findTaskById(Long taskId) {
         return taskRepository.findById(taskId);
     }
 
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    /**
+     * Retrieves a task together with its project and user summaries in a single query.
+     *
+     * @param taskId The ID of the task
+     * @return The task row, or empty if no such task exists
+     */
+    public Optional<TaskRowDto> findTaskRowById(Long taskId) {
+        return taskRepository.findRowById(taskId);
+    }
+
+    /**
+     * Returns the organization of the authenticated user, for endpoints that resolve the tenant up front.
+     *
+     * @throws IllegalStateException if there is no authenticated user or it has no organization.
+     */
+    public Long getCurrentUserOrganizationId() {
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null) {
+            throw new IllegalStateException("User is not associated with any organization.");
+        }
+        return organizationId;
+    }
+
+    /**
+     * Feeds every task row of an organization to {@code consumer}, ordered by id, through a streaming cursor.
+     * Rows are not retained, so memory use is independent of the number of tasks.
+     *
+     * @param organizationId The organization whose tasks to visit.
+     * @param consumer       Receives each row; runs inside the read-only transaction.
+     * @return The number of rows visited.
+     */
+    @Transactional(readOnly = true)
+    public long forEachTaskRowInOrganization(Long organizationId, Consumer<TaskRowDto> consumer) {
+        if (organizationId == null) {
+            throw new IllegalArgumentException("Organization ID cannot be null");
+        }
+        long count = 0;
+        try (Stream<TaskRowDto> rows = taskRepository.streamRowsByOrganizationId(organizationId)) {
+            Iterator<TaskRowDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -127,7 +192,7 @@ public class TaskService {
      */
     public Map<String, Object> getAllTasksPaginated(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
-        Page<Task> taskPage = taskRepository.findAll(pageable);
+        Page<TaskRowDto> taskPage = taskRepository.findAllRows(pageable);
         return buildPaginatedTaskResponse(taskPage);
     }
 
@@ -141,7 +206,7 @@ public class TaskService {
         if (organizationId == null) {
             throw new IllegalArgumentException("Organization ID cannot be null");
         }
-        return taskRepository.countByProject_Organization_Id(organizationId);
+        return taskRepository.countByOrganization_Id(organizationId);
     }
 
     public List<Task> getTasksByProjectId(Long projectId) {
@@ -170,17 +235,8 @@ public class TaskService {
         }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
-        Page<Task> taskPage = taskRepository.findByProjectId(projectId, pageable);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("tasks", taskPage.getContent());
-        response.put("currentPage", taskPage.getNumber());
-        response.put("pageSize", taskPage.getSize());
-        response.put("totalItems", taskPage.getTotalElements());
-        response.put("totalPages", taskPage.getTotalPages());
-        response.put("hasNext", taskPage.hasNext());
-        response.put("hasPrevious", taskPage.hasPrevious());
-        return response;
+        Page<TaskRowDto> taskPage = taskRepository.findRowsByProjectId(projectId, pageable);
+        return buildPaginatedTaskResponse(taskPage);
     }
 
     public List<Task> getTasksByAssigneeId(Long assigneeId) {
@@ -198,8 +254,8 @@ public class TaskService {
         validatePaginationInputs(page, size);
         User currentUser = getCurrentAuthenticatedUser();
         Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
-        Page<Task> taskPage = taskRepository.findByAssigneeAndStatusNotIn(
-                currentUser,
+        Page<TaskRowDto> taskPage = taskRepository.findRowsByAssigneeIdAndStatusNotIn(
+                currentUser.getId(),
                 Arrays.asList(TaskStatus.DONE, TaskStatus.CHECKED),
                 pageable
         );
@@ -215,8 +271,8 @@ public class TaskService {
         validatePaginationInputs(page, size);
         User currentUser = getCurrentAuthenticatedUser();
         Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
-        Page<Task> taskPage = taskRepository.findByReporterAndStatusNotIn(
-                currentUser,
+        Page<TaskRowDto> taskPage = taskRepository.findRowsByReporterIdAndStatusNotIn(
+                currentUser.getId(),
                 Arrays.asList(TaskStatus.DONE, TaskStatus.CHECKED),
                 pageable
         );
@@ -232,14 +288,105 @@ public class TaskService {
         validatePaginationInputs(page, size);
         User currentUser = getCurrentAuthenticatedUser();
         Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
-        Page<Task> taskPage = taskRepository.findByCheckedByAndStatus(
-                currentUser,
+        Page<TaskRowDto> taskPage = taskRepository.findRowsByCheckedByIdAndStatus(
+                currentUser.getId(),
                 TaskStatus.DONE,
                 pageable
         );
         return buildPaginatedTaskResponse(taskPage);
     }
 
+    // --- Keyset (cursor) pagination ---
+    // Same ordering as the offset variants, but each page seeks past the last (updatedAt, id) seen,
+    // so deep pages cost the same as the first one. The total count is only computed on request.
+
+    /**
+     * Retrieves all tasks using keyset pagination.
+     *
+     * @param cursor       Token from a previous response's {@code nextCursor}; null or blank for the first page
+     * @param size         The number of tasks per page
+     * @param includeTotal Whether to also run a count query for {@code totalItems}
+     * @return A map containing the tasks, {@code nextCursor} and {@code hasNext}
+     */
+    public Map<String, Object> getAllTasksByCursor(String cursor, int size, boolean includeTotal) {
+        validatePageSize(size);
+        TaskPageCursor position = TaskPageCursor.decode(cursor);
+        List<TaskRowDto> rows = taskRepository.findRowsBefore(
+                position.getUpdatedAt(), position.getId(), PageRequest.of(0, size + 1));
+        return buildKeysetTaskResponse(rows, size, includeTotal ? taskRepository.count() : null);
+    }
+
+    /**
+     * Retrieves the tasks of a project using keyset pagination.
+     *
+     * @see #getAllTasksByCursor(String, int, boolean)
+     */
+    public Map<String, Object> getTasksByProjectIdByCursor(Long projectId, String cursor, int size, boolean includeTotal) {
+        if (projectId == null) {
+            throw new IllegalArgumentException("Project ID cannot be null.");
+        }
+        validatePageSize(size);
+        TaskPageCursor position = TaskPageCursor.decode(cursor);
+
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project with ID " + projectId + " not found.");
+        }
+
+        List<TaskRowDto> rows = taskRepository.findRowsByProjectIdBefore(
+                projectId, position.getUpdatedAt(), position.getId(), PageRequest.of(0, size + 1));
+        return buildKeysetTaskResponse(rows, size, includeTotal ? taskRepository.countByProject_Id(projectId) : null);
+    }
+
+    /**
+     * Retrieves the open tasks assigned to the current user using keyset pagination.
+     *
+     * @see #getAllTasksByCursor(String, int, boolean)
+     */
+    public Map<String, Object> getTasksAssignedToCurrentUserByCursor(String cursor, int size, boolean includeTotal) {
+        validatePageSize(size);
+        TaskPageCursor position = TaskPageCursor.decode(cursor);
+        User currentUser = getCurrentAuthenticatedUser();
+        List<TaskStatus> closedStatuses = Arrays.asList(TaskStatus.DONE, TaskStatus.CHECKED);
+        List<TaskRowDto> rows = taskRepository.findRowsByAssigneeIdAndStatusNotInBefore(
+                currentUser.getId(), closedStatuses,
+                position.getUpdatedAt(), position.getId(), PageRequest.of(0, size + 1));
+        Long total = includeTotal ? taskRepository.countByAssignee_IdAndStatusNotIn(currentUser.getId(), closedStatuses) : null;
+        return buildKeysetTaskResponse(rows, size, total);
+    }
+
+    /**
+     * Retrieves the open tasks reported by the current user using keyset pagination.
+     *
+     * @see #getAllTasksByCursor(String, int, boolean)
+     */
+    public Map<String, Object> getTasksReportedByCurrentUserByCursor(String cursor, int size, boolean includeTotal) {
+        validatePageSize(size);
+        TaskPageCursor position = TaskPageCursor.decode(cursor);
+        User currentUser = getCurrentAuthenticatedUser();
+        List<TaskStatus> closedStatuses = Arrays.asList(TaskStatus.DONE, TaskStatus.CHECKED);
+        List<TaskRowDto> rows = taskRepository.findRowsByReporterIdAndStatusNotInBefore(
+                currentUser.getId(), closedStatuses,
+                position.getUpdatedAt(), position.getId(), PageRequest.of(0, size + 1));
+        Long total = includeTotal ? taskRepository.countByReporter_IdAndStatusNotIn(currentUser.getId(), closedStatuses) : null;
+        return buildKeysetTaskResponse(rows, size, total);
+    }
+
+    /**
+     * Retrieves the tasks awaiting the current user's check using keyset pagination.
+     *
+     * @see #getAllTasksByCursor(String, int, boolean)
+     */
+    public Map<String, Object> getTasksToCheckByCurrentUserByCursor(String cursor, int size, boolean includeTotal) {
+        validatePageSize(size);
+        TaskPageCursor position = TaskPageCursor.decode(cursor);
+        User currentUser = getCurrentAuthenticatedUser();
+        List<TaskRowDto> rows = taskRepository.findRowsByCheckedByIdAndStatusBefore(
+                currentUser.getId(), TaskStatus.DONE,
+                position.getUpdatedAt(), position.getId(), PageRequest.of(0, size + 1));
+        Long total = includeTotal ? taskRepository.countByCheckedBy_IdAndStatus(currentUser.getId(), TaskStatus.DONE) : null;
+        return buildKeysetTaskResponse(rows, size, total);
+    }
+
 
     @Transactional
     public Optional<Task> updateTask(Long taskId,
@@ -249,11 +396,12 @@ public class TaskService {
                                      Optional<Long> newAssigneeIdOpt, // Use Optional<Optional<Long>> or a flag for unassigning if null means "no change"
                                      Optional<TaskStatus> newStatusOpt) {
 
+        // The status goes through the state machine first; the task is loaded afterwards so it carries the new version
+        boolean updated = newStatusOpt.isPresent() && changeStatusForEdit(taskId, newStatusOpt.get());
+
         Task taskToUpdate = taskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
 
-        boolean updated = false;
-
         if (newNameOpt.isPresent()) {
             String nameValue = newNameOpt.get().trim();
             if (nameValue.isEmpty()) {
@@ -271,7 +419,15 @@ public class TaskService {
         if (newProjectIdOpt.isPresent()) {
             Project project = projectRepository.findById(newProjectIdOpt.get())
                     .orElseThrow(() -> new IllegalArgumentException("Project with ID " + newProjectIdOpt.get() + " not found for task update."));
+            Long previousOrganizationId = taskToUpdate.getOrganizationId();
             taskToUpdate.setProject(project);
+            taskToUpdate.setOrganization(project.getOrganization());
+            if (!Objects.equals(previousOrganizationId, project.getOrganizationId())) {
+                organizationStatsService.recordTaskDeleted(previousOrganizationId);
+                organizationStatsService.recordTaskCreated(project.getOrganizationId());
+                searchIndexService.recordTasksDeleted(previousOrganizationId, List.of(taskId));
+            }
+            timeLogRollupService.recordTaskMoved(taskId, project.getId());
             updated = true;
         }
 
@@ -291,15 +447,11 @@ public class TaskService {
             updated = true;
         }
 
-
-        if (newStatusOpt.isPresent()) {
-            taskToUpdate.setStatus(newStatusOpt.get());
-            updated = true;
-        }
-
         if (updated) {
             // updatedAt is handled by @PreUpdate in Task entity
-            return Optional.of(taskRepository.save(taskToUpdate));
+            Task savedTask = taskRepository.save(taskToUpdate);
+            searchIndexService.recordTaskSaved(savedTask);
+            return Optional.of(savedTask);
         }
         // Return the task even if no fields were changed, or Optional.empty() if you prefer
         return Optional.of(taskToUpdate);
@@ -317,9 +469,6 @@ public class TaskService {
             throw new IllegalArgumentException("Task status cannot be empty.");
         }
 
-        Task taskToUpdate = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
-
         // Parse enums
         ProjectStage projectStageEnum;
         try {
@@ -335,14 +484,19 @@ public class TaskService {
             throw new IllegalArgumentException("Invalid task status: " + status);
         }
 
+        changeStatusForEdit(taskId, statusEnum);
+        Task taskToUpdate = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+
         // Update fields
         taskToUpdate.setName(name.trim());
         taskToUpdate.setDescription(description != null ? description.trim() : null);
         taskToUpdate.setProjectStage(projectStageEnum);
-        taskToUpdate.setStatus(statusEnum);
 
         // updatedAt is handled by @PreUpdate in Task entity
-        return taskRepository.save(taskToUpdate);
+        Task savedTask = taskRepository.save(taskToUpdate);
+        searchIndexService.recordTaskSaved(savedTask);
+        return savedTask;
     }
 
     private void validatePaginationInputs(int page, int size) {
@@ -354,7 +508,13 @@ public class TaskService {
         }
     }
 
-    private Map<String, Object> buildPaginatedTaskResponse(Page<Task> taskPage) {
+    private void validatePageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero.");
+        }
+    }
+
+    private Map<String, Object> buildPaginatedTaskResponse(Page<TaskRowDto> taskPage) {
         Map<String, Object> response = new HashMap<>();
         response.put("tasks", taskPage.getContent());
         response.put("currentPage", taskPage.getNumber());
@@ -366,6 +526,26 @@ public class TaskService {
         return response;
     }
 
+    private Map<String, Object> buildKeysetTaskResponse(List<TaskRowDto> rows, int size, Long totalItems) {
+        boolean hasNext = rows.size() > size;
+        List<TaskRowDto> tasks = hasNext ? rows.subList(0, size) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("tasks", tasks);
+        response.put("pageSize", size);
+        response.put("hasNext", hasNext);
+        if (hasNext) {
+            TaskRowDto last = tasks.get(tasks.size() - 1);
+            response.put("nextCursor", TaskPageCursor.after(last.getUpdatedAt(), last.getId()).encode());
+        } else {
+            response.put("nextCursor", null);
+        }
+        if (totalItems != null) {
+            response.put("totalItems", totalItems);
+        }
+        return response;
+    }
+
     @Transactional
     public Task updateTaskComplete(Long taskId, String name, String description, String projectStage, 
                                   String status, String priority, String dueDate, Long assigneeId, Long checkedById) {
@@ -379,12 +559,12 @@ public class TaskService {
             throw new IllegalArgumentException("Task status cannot be empty.");
         }
 
-        Task taskToUpdate = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+        if (!taskRepository.existsById(taskId)) {
+            throw new IllegalArgumentException("Task with ID " + taskId + " not found.");
+        }
 
         // Authorization check: User can only edit tasks they are assigned to, created, or assigned as checker
-        User currentUser = getCurrentAuthenticatedUser();
-        validateTaskEditPermission(taskToUpdate, currentUser);
+        validateTaskEditPermission(taskId);
 
         // Parse enums
         ProjectStage projectStageEnum;
@@ -408,11 +588,15 @@ public class TaskService {
             throw new IllegalArgumentException("Invalid task priority: " + priority);
         }
 
+        // Checked against the current checker, before the form's checker change is applied
+        changeStatusForEdit(taskId, statusEnum);
+        Task taskToUpdate = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+
         // Update fields
         taskToUpdate.setName(name.trim());
         taskToUpdate.setDescription(description != null ? description.trim() : null);
         taskToUpdate.setProjectStage(projectStageEnum);
-        taskToUpdate.setStatus(statusEnum);
         taskToUpdate.setPriority(priorityEnum);
 
         // Handle due date
@@ -445,51 +629,121 @@ public class TaskService {
         }
 
         // updatedAt is handled by @PreUpdate in Task entity
-        return taskRepository.save(taskToUpdate);
+        Task savedTask = taskRepository.save(taskToUpdate);
+        searchIndexService.recordTaskSaved(savedTask);
+        return savedTask;
     }
 
     @Transactional
     public Optional<Task> updateTaskStatus(Long taskId, TaskStatus newStatus) {
-        Task taskToUpdate = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+        return updateTaskStatus(taskId, newStatus, null);
+    }
 
+    /**
+     * Changes a task's status through {@link #transitionStatus}. When the caller does not say which status it
+     * saw, the current one is read first; a change that lands between that read and the update is still
+     * reported as a conflict rather than silently overwritten.
+     */
+    @Transactional
+    public Optional<Task> updateTaskStatus(Long taskId, TaskStatus newStatus, TaskStatus expectedStatus) {
         if (newStatus == null) {
             throw new IllegalArgumentException("New status cannot be null.");
         }
+        TaskStatus currentStatus = taskRepository.findStatusById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
 
         // Authorization check: User can only update status of tasks they are assigned to, created, or assigned as checker
-        User currentUser = getCurrentAuthenticatedUser();
-        validateTaskEditPermission(taskToUpdate, currentUser);
+        validateTaskEditPermission(taskId);
 
-        taskToUpdate.setStatus(newStatus);
-        // updatedAt is handled by @PreUpdate in Task entity
-        return Optional.of(taskRepository.save(taskToUpdate));
+        return Optional.of(transitionStatus(taskId, expectedStatus != null ? expectedStatus : currentStatus, newStatus));
     }
 
+    /**
+     * Moves a task from {@code fromStatus} to {@code toStatus} with one conditional UPDATE, so concurrent
+     * transitions cannot overwrite each other and no row lock is held across the request.
+     * The caller is responsible for authorization.
+     *
+     * @throws IllegalArgumentException if the state machine in {@link TaskStatus} does not allow the change
+     * @throws StatusConflictException if the task is no longer in {@code fromStatus}
+     */
     @Transactional
-    public Optional<Task> markTaskAsCompletedAndChecked(Long taskId, String checkerUsername) {
-        Task taskToUpdate = taskRepository.findById(taskId)
+    public Task transitionStatus(Long taskId, TaskStatus fromStatus, TaskStatus toStatus) {
+        if (fromStatus == toStatus) {
+            return requireStatus(taskId, fromStatus);
+        }
+        if (!fromStatus.canTransitionTo(toStatus)) {
+            throw new IllegalArgumentException("Task status cannot change from " + fromStatus.getDisplayName()
+                    + " to " + toStatus.getDisplayName() + ".");
+        }
+        int updated = taskRepository.transitionStatus(taskId, fromStatus, toStatus, LocalDateTime.now());
+        if (updated == 0) {
+            throw conflict(taskId, fromStatus);
+        }
+        return taskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+    }
 
-        // Get the current user (checker)
-        User checker = userRepository.findByUsername(checkerUsername)
+    @Transactional
+    public Optional<Task> markTaskAsCompletedAndChecked(Long taskId, String checkerUsername) {
+        Long checkerId = currentUserResolver.findCurrentUser(checkerUsername)
+                .map(AuthenticatedUser::getId)
+                .or(() -> userRepository.findByUsername(checkerUsername).map(User::getId))
                 .orElseThrow(() -> new IllegalArgumentException("User with username " + checkerUsername + " not found."));
+        checkAsChecker(taskId, checkerId);
+        return taskRepository.findById(taskId);
+    }
 
-        // Verify that the current user is authorized to check this task
-        if (taskToUpdate.getCheckedBy() == null || !taskToUpdate.getCheckedBy().getId().equals(checker.getId())) {
-            throw new IllegalStateException("You are not authorized to check this task. Only the assigned checker can mark this task as checked.");
+    /**
+     * Applies a status chosen in an edit form. The change goes through {@link #transitionStatus}, and CHECKED
+     * additionally requires the caller to be the task's checker, as in {@link #markTaskAsCompletedAndChecked}.
+     * Runs before the task entity is loaded, because the conditional UPDATE clears the persistence context.
+     *
+     * @return Whether the status changed.
+     */
+    private boolean changeStatusForEdit(Long taskId, TaskStatus newStatus) {
+        TaskStatus currentStatus = taskRepository.findStatusById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+        if (currentStatus == newStatus) {
+            return false;
         }
+        if (newStatus == TaskStatus.CHECKED && currentStatus.canTransitionTo(newStatus)) {
+            checkAsChecker(taskId, currentUserResolver.getUserId());
+        } else {
+            transitionStatus(taskId, currentStatus, newStatus);
+        }
+        return true;
+    }
 
-        // Verify that the task is in DONE status before allowing it to be marked as checked
-        if (taskToUpdate.getStatus() != TaskStatus.DONE) {
+    private void checkAsChecker(Long taskId, Long checkerId) {
+        // Checker and DONE status are both part of the UPDATE condition; work out which one failed only if it did
+        int updated = taskRepository.transitionStatusAsChecker(taskId, TaskStatus.DONE, TaskStatus.CHECKED,
+                checkerId, LocalDateTime.now());
+        if (updated == 0) {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+            if (task.getCheckedBy() == null || !task.getCheckedBy().getId().equals(checkerId)) {
+                throw new IllegalStateException("You are not authorized to check this task. Only the assigned checker can mark this task as checked.");
+            }
+            if (task.getStatus() == TaskStatus.CHECKED) {
+                throw new StatusConflictException(taskId, TaskStatus.DONE, TaskStatus.CHECKED);
+            }
             throw new IllegalStateException("Task must be in DONE status before it can be marked as checked.");
         }
+    }
 
-        // Update the status to CHECKED
-        taskToUpdate.setStatus(TaskStatus.CHECKED);
-        
-        // updatedAt is handled by @PreUpdate in Task entity
-        return Optional.of(taskRepository.save(taskToUpdate));
+    private Task requireStatus(Long taskId, TaskStatus expectedStatus) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+        if (task.getStatus() != expectedStatus) {
+            throw new StatusConflictException(taskId, expectedStatus, task.getStatus());
+        }
+        return task;
+    }
+
+    private StatusConflictException conflict(Long taskId, TaskStatus expectedStatus) {
+        TaskStatus actualStatus = taskRepository.findStatusById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found."));
+        return new StatusConflictException(taskId, expectedStatus, actualStatus);
     }
 
     @Transactional
@@ -498,21 +752,158 @@ public class TaskService {
             // Consider throwing a TaskNotFoundException here for better error handling upstream
             return false;
         }
-        // CRITICAL: Implement logic for handling TimeLog entries associated with this task.
-        // Option 1: Delete associated TimeLog entries.
-        //   List<TimeLog> timeLogs = timeLogRepository.findByTaskId(taskId);
-        //   timeLogRepository.deleteAll(timeLogs);
-        // Option 2: Prevent deletion if TimeLog entries exist.
-        //   if (timeLogRepository.existsByTaskId(taskId)) { // Assuming existsByTaskId method in TimeLogRepository
-        //       throw new IllegalStateException("Cannot delete task with ID " + taskId + " as it has associated time entries.");
-        //   }
-        // Option 3: Set task_id to null in TimeLog entries (if your schema allows and makes sense).
-        //   This would require iterating and updating TimeLog entities.
-
-        taskRepository.deleteById(taskId);
+        // The task's time logs are deleted with it (see deleteTasksByIds)
+        Optional<Long> organizationId = taskRepository.findOrganizationIdById(taskId);
+        deleteTasksByIds(List.of(taskId));
+        organizationId.ifPresent(organizationStatsService::recordTaskDeleted);
+        organizationId.ifPresent(id -> searchIndexService.recordTasksDeleted(id, List.of(taskId)));
         return true;
     }
 
+    /**
+     * Applies one change to many tasks in a single transaction. Existence, permission and current status
+     * are read with one query each and the change itself is a single set-based UPDATE or DELETE,
+     * however many tasks are selected.
+     *
+     * @return The outcome for every requested task ID, in request order.
+     * @throws IllegalArgumentException if the request itself is invalid; nothing is changed in that case.
+     */
+    @Transactional
+    public Map<Long, BulkOutcome> applyBulkOperation(TaskBulkOperationDto request) {
+        if (request == null || request.getOperation() == null) {
+            throw new IllegalArgumentException("Bulk operation is required.");
+        }
+        List<Long> taskIds = request.getTaskIds() == null ? List.of()
+                : request.getTaskIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (taskIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one task ID is required.");
+        }
+        if (taskIds.size() > MAX_BULK_TASKS) {
+            throw new IllegalArgumentException("A bulk operation can change at most " + MAX_BULK_TASKS + " tasks.");
+        }
+        if (request.getOperation() == TaskBulkOperationDto.Operation.STATUS && request.getStatus() == null) {
+            throw new IllegalArgumentException("New status cannot be null.");
+        }
+        if (request.getOperation() == TaskBulkOperationDto.Operation.STAGE && request.getProjectStage() == null) {
+            throw new IllegalArgumentException("Project stage cannot be empty.");
+        }
+        User assignee = request.getOperation() == TaskBulkOperationDto.Operation.ASSIGN
+                ? findAssigneeInCurrentOrganization(request.getAssigneeId())
+                : null;
+
+        Map<Long, TaskStatusRef> found = new HashMap<>();
+        taskRepository.findStatusRefsByIdIn(taskIds).forEach(ref -> found.put(ref.getId(), ref));
+        Set<Long> editable = taskPermissionEvaluator.filterEditable(found.keySet());
+
+        Map<Long, BulkOutcome> results = new LinkedHashMap<>();
+        List<TaskStatusRef> targets = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            TaskStatusRef ref = found.get(taskId);
+            if (ref == null) {
+                results.put(taskId, BulkOutcome.NOT_FOUND);
+            } else if (!editable.contains(taskId)) {
+                results.put(taskId, BulkOutcome.FORBIDDEN);
+            } else {
+                results.put(taskId, BulkOutcome.UPDATED);
+                targets.add(ref);
+            }
+        }
+        if (targets.isEmpty()) {
+            return results;
+        }
+
+        List<Long> targetIds = targets.stream().map(TaskStatusRef::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        switch (request.getOperation()) {
+            case STATUS -> applyBulkStatus(targets, request.getStatus(), now, results);
+            case STAGE -> taskRepository.updateProjectStageByIdIn(targetIds, request.getProjectStage(), now);
+            case ASSIGN -> taskRepository.updateAssigneeByIdIn(targetIds, assignee, now);
+            case DELETE -> {
+                deleteTasksByIds(targetIds);
+                targets.stream()
+                        .filter(ref -> ref.getOrganizationId() != null)
+                        .collect(Collectors.groupingBy(TaskStatusRef::getOrganizationId,
+                                Collectors.mapping(TaskStatusRef::getId, Collectors.toList())))
+                        .forEach((organizationId, ids) -> {
+                            organizationStatsService.recordTasksDeleted(organizationId, ids.size());
+                            searchIndexService.recordTasksDeleted(organizationId, ids);
+                        });
+                targetIds.forEach(taskId -> results.put(taskId, BulkOutcome.DELETED));
+            }
+        }
+        return results;
+    }
+
+    // Tasks already in the target status are left alone; the UPDATE re-checks the state machine on the rows.
+    // CHECKED is only applied to tasks whose assigned checker is the caller, as for a single task.
+    private void applyBulkStatus(List<TaskStatusRef> targets, TaskStatus newStatus, LocalDateTime now,
+                                 Map<Long, BulkOutcome> results) {
+        List<Long> candidates = new ArrayList<>();
+        for (TaskStatusRef ref : targets) {
+            if (ref.getStatus() == newStatus) {
+                results.put(ref.getId(), BulkOutcome.UNCHANGED);
+            } else if (!ref.getStatus().canTransitionTo(newStatus)) {
+                results.put(ref.getId(), BulkOutcome.INVALID_TRANSITION);
+            } else {
+                candidates.add(ref.getId());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<TaskStatus> fromStatuses = EnumSet.noneOf(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            if (status.canTransitionTo(newStatus)) {
+                fromStatuses.add(status);
+            }
+        }
+        boolean checking = newStatus == TaskStatus.CHECKED;
+        int updated = checking
+                ? taskRepository.transitionStatusByIdInAsChecker(candidates, fromStatuses, newStatus,
+                        currentUserResolver.getUserId(), now)
+                : taskRepository.transitionStatusByIdIn(candidates, fromStatuses, newStatus, now);
+        if (updated == candidates.size()) {
+            return;
+        }
+
+        // Some tasks were skipped: either their status changed concurrently since it was read or, for
+        // CHECKED, the caller is not their checker (the status still allows the change)
+        Map<Long, TaskStatus> current = new HashMap<>();
+        taskRepository.findStatusRefsByIdIn(candidates).forEach(ref -> current.put(ref.getId(), ref.getStatus()));
+        for (Long taskId : candidates) {
+            TaskStatus status = current.get(taskId);
+            if (status == null) {
+                results.put(taskId, BulkOutcome.NOT_FOUND);
+            } else if (checking && fromStatuses.contains(status)) {
+                results.put(taskId, BulkOutcome.FORBIDDEN);
+            } else if (status != newStatus) {
+                results.put(taskId, BulkOutcome.CONFLICT);
+            }
+        }
+    }
+
+    private User findAssigneeInCurrentOrganization(Long assigneeId) {
+        if (assigneeId == null) {
+            return null;
+        }
+        User assignee = userRepository.findById(assigneeId)
+                .orElseThrow(() -> new IllegalArgumentException("User with ID " + assigneeId + " not found."));
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (!assignee.isEnabled() || assignee.getOrganization() == null
+                || !assignee.getOrganization().getId().equals(organizationId)) {
+            throw new IllegalArgumentException("Tasks can only be assigned to active users in your organization.");
+        }
+        return assignee;
+    }
+
+    // Time logs and rollups go first in one statement each; the task rows follow without entity cascades
+    private void deleteTasksByIds(Collection<Long> taskIds) {
+        timeLogRollupService.recordTasksDeleted(taskIds);
+        timeLogRepository.deleteByTaskIdIn(taskIds);
+        taskRepository.deleteByIdIn(taskIds);
+    }
+
     public boolean taskExists(Long taskId) {
         return taskRepository.existsById(taskId);
     }
@@ -524,42 +915,55 @@ public class TaskService {
      * 2. Creator/reporter of the task
      * 3. Assigned as checker of the task
      *
-     * @param task The task to check permissions for
-     * @param currentUser The current authenticated user
+     * @param taskId The task to check permissions for
      * @throws IllegalArgumentException if the user doesn't have permission
      */
-    private void validateTaskEditPermission(Task task, User currentUser) {
-        boolean canEdit = false;
-        
-        // Check if user is assigned to the task
-        if (task.getAssignee() != null && task.getAssignee().getId().equals(currentUser.getId())) {
-            canEdit = true;
-        }
-        
-        // Check if user is the creator/reporter of the task
-        if (task.getReporter() != null && task.getReporter().getId().equals(currentUser.getId())) {
-            canEdit = true;
-        }
-        
-        // Check if user is assigned as checker of the task
-        if (task.getCheckedBy() != null && task.getCheckedBy().getId().equals(currentUser.getId())) {
-            canEdit = true;
-        }
-        
-        if (!canEdit) {
+    private void validateTaskEditPermission(Long taskId) {
+        if (!taskPermissionEvaluator.canEdit(taskId)) {
             throw new IllegalArgumentException("You do not have permission to edit this task. You can only edit tasks that are assigned to you, created by you, or assigned to you for checking.");
         }
     }
 
-    // Get enabled users for task assignment from the same organization as current user
-    public List<User> getAllUsersForTaskAssignment() {
-        User currentUser = getCurrentAuthenticatedUser();
-        
-        if (currentUser.getOrganization() == null) {
-            throw new IllegalStateException("Current user must belong to an organization to view users for task assignment");
+    /**
+     * Per-task result of {@link #applyBulkOperation}.
+     */
+    public enum BulkOutcome {
+        UPDATED,
+        UNCHANGED,
+        DELETED,
+        NOT_FOUND,
+        FORBIDDEN,
+        INVALID_TRANSITION,
+        CONFLICT
+    }
+
+    /**
+     * Thrown when a status transition loses a race: the task was no longer in the status the caller expected.
+     */
+    public static class StatusConflictException extends RuntimeException {
+
+        private final Long taskId;
+        private final TaskStatus expectedStatus;
+        private final TaskStatus actualStatus;
+
+        public StatusConflictException(Long taskId, TaskStatus expectedStatus, TaskStatus actualStatus) {
+            super("Task " + taskId + " is " + actualStatus.getDisplayName() + ", not "
+                    + expectedStatus.getDisplayName() + "; it was changed by someone else.");
+            this.taskId = taskId;
+            this.expectedStatus = expectedStatus;
+            this.actualStatus = actualStatus;
+        }
+
+        public Long getTaskId() {
+            return taskId;
+        }
+
+        public TaskStatus getExpectedStatus() {
+            return expectedStatus;
+        }
+
+        public TaskStatus getActualStatus() {
+            return actualStatus;
         }
-        
-        // Only return enabled users (enabled = true)
-        return userRepository.findByOrganization_IdAndEnabled(currentUser.getOrganization().getId(), true);
     }
 }
@@ -0,0 +1,255 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.TimeExportFilter;
+import org.example.repository.TimeEntryRepository;
+import org.example.repository.TimeLogRepository;
+import org.example.repository.projection.TimeEntryExportRow;
+import org.example.repository.projection.TimeLogExportRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.Temporal;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams time logs and time entries as CSV or NDJSON. Rows are read through a forward-only
+ * database cursor and written one at a time, so memory use does not grow with the export size.
+ */
+@Service
+public class TimeExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeExportService.class);
+
+    // Used when a date bound is omitted, keeping the date predicate a plain range
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final String[] TIME_LOG_COLUMNS = {"id", "taskId", "taskName", "projectId", "projectName",
+            "userId", "username", "dateLogged", "hoursLogged", "workDescription", "createdAt"};
+    private static final String[] TIME_ENTRY_COLUMNS = {"id", "taskId", "taskName", "projectId",
+            "userId", "username", "dateOfWork", "durationMinutes", "description"};
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + ". Use csv or ndjson.");
+            }
+        }
+    }
+
+    private final TimeLogRepository timeLogRepository;
+    private final TimeEntryRepository timeEntryRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TimeExportService(TimeLogRepository timeLogRepository,
+                             TimeEntryRepository timeEntryRepository,
+                             CurrentUserResolver currentUserResolver,
+                             ObjectMapper objectMapper) {
+        this.timeLogRepository = timeLogRepository;
+        this.timeEntryRepository = timeEntryRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Builds the export filter for the authenticated caller. Exports are always limited to the caller's
+     * organization; non-admins can only export their own rows.
+     *
+     * @throws IllegalArgumentException if the caller has no organization or the date range is invalid.
+     */
+    public TimeExportFilter buildFilter(Long userId, Long projectId, LocalDate startDate, LocalDate endDate) {
+        AuthenticatedUser caller = currentUserResolver.getCurrentUser();
+        if (caller.getOrganizationId() == null) {
+            throw new IllegalArgumentException("User is not associated with any organization.");
+        }
+        LocalDate from = startDate != null ? startDate : MIN_DATE;
+        LocalDate to = endDate != null ? endDate : MAX_DATE;
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date.");
+        }
+        Long effectiveUserId = caller.isAdmin() ? userId : caller.getId();
+        return new TimeExportFilter(caller.getOrganizationId(), effectiveUserId, projectId, from, to);
+    }
+
+    /**
+     * Writes matching time logs to {@code out}. Runs in its own read-only transaction, which keeps the
+     * streaming cursor open for the duration of the write.
+     */
+    @Transactional(readOnly = true)
+    public long writeTimeLogs(TimeExportFilter filter, Format format, OutputStream out) throws IOException {
+        try (Stream<TimeLogExportRow> rows = timeLogRepository.streamForExport(filter.getOrganizationId(),
+                filter.getUserId(), filter.getProjectId(), filter.getStartDate(), filter.getEndDate());
+             RowSink sink = openSink(format, out, TIME_LOG_COLUMNS)) {
+            long[] count = {0};
+            rows.forEach(row -> {
+                sink.write(row.getId(), row.getTaskId(), row.getTaskName(), row.getProjectId(), row.getProjectName(),
+                        row.getUserId(), row.getUsername(), row.getDateLogged(), row.getHoursLogged(),
+                        row.getWorkDescription(), row.getCreatedAt());
+                count[0]++;
+            });
+            logger.info("Exported {} time logs for organization {} as {}", count[0], filter.getOrganizationId(), format);
+            return count[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes matching time entries to {@code out}.
+     *
+     * @see #writeTimeLogs(TimeExportFilter, Format, OutputStream)
+     */
+    @Transactional(readOnly = true)
+    public long writeTimeEntries(TimeExportFilter filter, Format format, OutputStream out) throws IOException {
+        try (Stream<TimeEntryExportRow> rows = timeEntryRepository.streamForExport(filter.getOrganizationId(),
+                filter.getUserId(), filter.getProjectId(), filter.getStartDate(), filter.getEndDate());
+             RowSink sink = openSink(format, out, TIME_ENTRY_COLUMNS)) {
+            long[] count = {0};
+            rows.forEach(row -> {
+                sink.write(row.getId(), row.getTaskId(), row.getTaskName(), row.getProjectId(),
+                        row.getUserId(), row.getUsername(), row.getDateOfWork(), row.getDurationMinutes(),
+                        row.getDescription());
+                count[0]++;
+            });
+            logger.info("Exported {} time entries for organization {} as {}", count[0], filter.getOrganizationId(), format);
+            return count[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private RowSink openSink(Format format, OutputStream out, String[] columns) throws IOException {
+        return format == Format.CSV ? new CsvSink(out, columns) : new NdjsonSink(objectMapper, out, columns);
+    }
+
+    /**
+     * Writes one row at a time; IO failures surface as UncheckedIOException so sinks can be used from lambdas.
+     * Closing flushes but does not close the underlying stream, which belongs to the caller.
+     */
+    private interface RowSink extends AutoCloseable {
+        void write(Object... values);
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final Writer writer;
+
+        CsvSink(OutputStream out, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writeLine((Object[]) columns);
+        }
+
+        @Override
+        public void write(Object... values) {
+            try {
+                writeLine(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeLine(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonSink implements RowSink {
+        private final JsonGenerator generator;
+        private final String[] columns;
+
+        NdjsonSink(ObjectMapper objectMapper, OutputStream out, String[] columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // One object per line: newline is written explicitly instead of the default space separator
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object... values) {
+            try {
+                generator.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    generator.writeFieldName(columns[i]);
+                    Object value = values[i];
+                    // Dates as ISO strings rather than Jackson's default array/timestamp forms
+                    if (value instanceof Temporal) {
+                        generator.writeString(value.toString());
+                    } else {
+                        generator.writeObject(value);
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package org.example.service;
+
+import org.example.models.Task;
+import org.example.models.TimeLog;
+import org.example.repository.OrganizationRepository;
+import org.example.repository.ProjectRepository;
+import org.example.repository.TaskRepository;
+import org.example.repository.TimeLogRollupRepository;
+import org.example.repository.projection.HoursBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains and reads the time_log_rollups table (hours per task, user and day).
+ * Writers call the delta methods inside their own transaction so the rollup commits or rolls back
+ * together with the time log change; a scheduled rebuild corrects any drift.
+ */
+@Service
+public class TimeLogRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeLogRollupService.class);
+
+    // Bounds used when a summary is requested without a date range
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final TimeLogRollupRepository rollupRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final OrganizationRepository organizationRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TransactionTemplate rebuildTransaction;
+
+    @Autowired
+    public TimeLogRollupService(TimeLogRollupRepository rollupRepository,
+                                TaskRepository taskRepository,
+                                ProjectRepository projectRepository,
+                                OrganizationRepository organizationRepository,
+                                CurrentUserResolver currentUserResolver,
+                                PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.organizationRepository = organizationRepository;
+        this.currentUserResolver = currentUserResolver;
+        // The nightly rebuild commits each organization separately, so no transaction spans the whole table
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds a newly created time log to its bucket.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(TimeLog timeLog) {
+        applyDelta(timeLog.getTask(), timeLog.getUser().getId(), timeLog.getDateLogged(), timeLog.getHoursLogged(), 1);
+    }
+
+    /**
+     * Removes a time log's previous date/hours from its bucket, e.g. before an update or on delete.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Task task, Long userId, LocalDate dateLogged, BigDecimal hoursLogged) {
+        applyDelta(task, userId, dateLogged, hoursLogged.negate(), -1);
+        rollupRepository.deleteIfEmpty(task.getId(), userId, dateLogged);
+    }
+
+    /**
+     * Re-points a task's rollup rows after the task moves to another project (or becomes standalone).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskMoved(Long taskId, Long newProjectId) {
+        rollupRepository.updateProjectIdForTask(taskId, newProjectId);
+    }
+
+    /**
+     * Drops the rollup rows of tasks being deleted, in one statement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTasksDeleted(Collection<Long> taskIds) {
+        rollupRepository.deleteByTaskIdIn(taskIds);
+    }
+
+    private void applyDelta(Task task, Long userId, LocalDate workDate, BigDecimal hours, int entries) {
+        // getId() on the lazy project proxy does not initialize it
+        Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+        rollupRepository.applyDelta(task.getId(), projectId, userId, workDate, hours, entries);
+    }
+
+    /**
+     * Recomputes the rollup table from time_logs, one organization per transaction. Each transaction only
+     * deletes and re-inserts that organization's rows, so writers of other organizations are never blocked
+     * and a failure rolls back a single organization.
+     *
+     * @return The number of rollup rows written.
+     */
+    public int rebuild() {
+        int inserted = 0;
+        int failed = 0;
+        for (Long organizationId : organizationRepository.findAllIds()) {
+            try {
+                Integer rows = rebuildTransaction.execute(status -> rebuildOrganization(organizationId));
+                inserted += rows != null ? rows : 0;
+            } catch (Exception e) {
+                failed++;
+                logger.warn("Could not rebuild time log rollups of organization {}: {}", organizationId, e.getMessage());
+            }
+        }
+        logger.info("Rebuilt time log rollups: {} rows written, {} organizations failed", inserted, failed);
+        return inserted;
+    }
+
+    /**
+     * Recomputes the rollup rows of the current user's organization from its time logs, leaving other
+     * organizations' rows untouched.
+     *
+     * @return The number of rollup rows written.
+     * @throws IllegalStateException if the current user does not belong to an organization.
+     */
+    @Transactional
+    public int rebuildCurrentOrganization() {
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null) {
+            throw new IllegalStateException("Current user must belong to an organization to rebuild time log rollups");
+        }
+        return rebuildOrganization(organizationId);
+    }
+
+    private int rebuildOrganization(Long organizationId) {
+        int removed = rollupRepository.deleteRowsByOrganizationId(organizationId);
+        int inserted = rollupRepository.insertFromTimeLogsByOrganizationId(organizationId);
+        logger.debug("Rebuilt time log rollups of organization {}: {} rows removed, {} rows written",
+                organizationId, removed, inserted);
+        return inserted;
+    }
+
+    /**
+     * Nightly reconciliation: rebuilds the rollups so any drift from out-of-band writes is corrected.
+     * Not transactional itself; {@link #rebuild()} opens one transaction per organization.
+     */
+    @Scheduled(cron = "${app.timelog.rollup.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        rebuild();
+    }
+
+    /**
+     * Total hours for a task of the current user's organization, split by user.
+     *
+     * @param taskId The ID of the task.
+     * @return A map with totalHours, entryCount and byUser.
+     * @throws IllegalArgumentException if the task does not exist in the current user's organization.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTaskSummary(Long taskId) {
+        if (taskId == null) {
+            throw new IllegalArgumentException("Task ID cannot be null.");
+        }
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null || !taskRepository.existsByIdAndOrganization_Id(taskId, organizationId)) {
+            throw new IllegalArgumentException("Task with ID " + taskId + " not found.");
+        }
+        List<HoursBucket> byUser = rollupRepository.sumForTaskByUser(taskId);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("taskId", taskId);
+        putTotals(summary, byUser);
+        summary.put("byUser", toBucketMaps(byUser, "userId"));
+        return summary;
+    }
+
+    /**
+     * Total hours for a project of the current user's organization within an optional date range, split by
+     * task and by user.
+     *
+     * @param projectId The ID of the project.
+     * @param startDate Inclusive start date, or null for no lower bound.
+     * @param endDate   Inclusive end date, or null for no upper bound.
+     * @return A map with totalHours, entryCount, byTask and byUser.
+     * @throws IllegalArgumentException if the project does not exist in the current user's organization, or
+     *                                  the date range is inverted.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProjectSummary(Long projectId, LocalDate startDate, LocalDate endDate) {
+        if (projectId == null) {
+            throw new IllegalArgumentException("Project ID cannot be null.");
+        }
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null || !projectRepository.existsByIdAndOrganization_Id(projectId, organizationId)) {
+            throw new IllegalArgumentException("Project with ID " + projectId + " not found.");
+        }
+        LocalDate from = startDate != null ? startDate : MIN_DATE;
+        LocalDate to = endDate != null ? endDate : MAX_DATE;
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date.");
+        }
+
+        List<HoursBucket> byTask = rollupRepository.sumForProjectByTask(projectId, from, to);
+        List<HoursBucket> byUser = rollupRepository.sumForProjectByUser(projectId, from, to);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("projectId", projectId);
+        summary.put("startDate", startDate);
+        summary.put("endDate", endDate);
+        putTotals(summary, byTask);
+        summary.put("byTask", toBucketMaps(byTask, "taskId"));
+        summary.put("byUser", toBucketMaps(byUser, "userId"));
+        return summary;
+    }
+
+    private void putTotals(Map<String, Object> summary, List<HoursBucket> buckets) {
+        BigDecimal totalHours = BigDecimal.ZERO;
+        long entryCount = 0;
+        for (HoursBucket bucket : buckets) {
+            totalHours = totalHours.add(bucket.getTotalHours());
+            entryCount += bucket.getEntryCount();
+        }
+        summary.put("totalHours", totalHours);
+        summary.put("entryCount", entryCount);
+    }
+
+    private List<Map<String, Object>> toBucketMaps(List<HoursBucket> buckets, String idKey) {
+        List<Map<String, Object>> result = new ArrayList<>(buckets.size());
+        for (HoursBucket bucket : buckets) {
+            Map<String, Object> row = new HashMap<>();
+            row.put(idKey, bucket.getGroupId());
+            row.put("totalHours", bucket.getTotalHours());
+            row.put("entryCount", bucket.getEntryCount());
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -5,59 +5,66 @@ import org.example.models.Task;
 import org.example.models.TimeLog;
 import org.example.models.User;
 import org.example.repository.TaskRepository;
+import org.example.repository.TimeLogBatchWriter;
 import org.example.repository.TimeLogRepository;
 import org.example.repository.UserRepository;
+import org.example.repository.projection.TaskProjectRef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TimeLogService {
 
     private static final Logger logger = LoggerFactory.getLogger(TimeLogService.class);
 
+    static final int MAX_BATCH_SIZE = 10000;
+    // hours_logged is DECIMAL(5,2)
+    private static final BigDecimal MAX_HOURS_PER_LOG = new BigDecimal("999.99");
+
     private final TimeLogRepository timeLogRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TimeLogRollupService timeLogRollupService;
+    private final TimeLogBatchWriter timeLogBatchWriter;
+    private final CurrentUserResolver currentUserResolver;
 
     @Autowired
     public TimeLogService(TimeLogRepository timeLogRepository,
                           TaskRepository taskRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          TimeLogRollupService timeLogRollupService,
+                          TimeLogBatchWriter timeLogBatchWriter,
+                          CurrentUserResolver currentUserResolver) {
         this.timeLogRepository = timeLogRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.timeLogRollupService = timeLogRollupService;
+        this.timeLogBatchWriter = timeLogBatchWriter;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
      * Helper method to get the currently authenticated user.
-     * @return The authenticated User entity.
-     * @throws IllegalStateException if the authenticated user cannot be found in the database or is not authenticated.
+     * @return An uninitialized reference built from the session principal; reading anything but the ID loads it.
+     * @throws IllegalStateException if no user is authenticated.
      */
     private User getCurrentAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new IllegalStateException("No authenticated user found or user is anonymous.");
-        }
-        String username;
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user '" + username + "' not found in database."));
+        return currentUserResolver.getUserReference();
     }
 
     /**
@@ -70,25 +77,16 @@ public class TimeLogService {
      */
     @Transactional
     public TimeLog logTime(TimeLogDto timeLogDto) {
-        if (timeLogDto == null) {
-            throw new IllegalArgumentException("Time log data cannot be null.");
-        }
-        if (timeLogDto.getTaskId() == null) {
-            throw new IllegalArgumentException("Task ID cannot be null for logging time.");
-        }
-        if (timeLogDto.getHoursLogged() == null || timeLogDto.getHoursLogged().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Hours logged must be a positive value.");
-        }
-        if (timeLogDto.getDateLogged() == null) {
-            throw new IllegalArgumentException("Date logged cannot be null.");
-        }
-        if (timeLogDto.getWorkDescription() == null || timeLogDto.getWorkDescription().trim().isEmpty()) {
-            throw new IllegalArgumentException("Work description cannot be empty.");
+        String validationError = validateNewTimeLog(timeLogDto);
+        if (validationError != null) {
+            throw new IllegalArgumentException(validationError);
         }
 
 
         User currentUser = getCurrentAuthenticatedUser();
-        Task task = taskRepository.findById(timeLogDto.getTaskId())
+        // Tasks of other organizations are reported exactly like missing ones
+        Task task = taskRepository.findByIdAndOrganization_Id(timeLogDto.getTaskId(),
+                        currentUserResolver.getOrganizationId())
                 .orElseThrow(() -> {
                     logger.warn("Attempt to log time for non-existent task with ID: {}", timeLogDto.getTaskId());
                     return new IllegalArgumentException("Task with ID " + timeLogDto.getTaskId() + " not found.");
@@ -103,8 +101,9 @@ public class TimeLogService {
         // createdAt is handled by @PrePersist in TimeLog entity
 
         TimeLog savedTimeLog = timeLogRepository.save(newTimeLog);
+        timeLogRollupService.recordAdded(savedTimeLog);
         logger.info("User '{}' logged {} hours for task '{}' (ID: {}) on {}",
-                currentUser.getUsername(),
+                currentUserResolver.getCurrentUser().getUsername(),
                 savedTimeLog.getHoursLogged(),
                 task.getName(),
                 task.getId(),
@@ -112,6 +111,110 @@ public class TimeLogService {
         return savedTimeLog;
     }
 
+    /**
+     * Logs many time entries for the current user in one transaction, e.g. a weekly timesheet import.
+     * The whole batch is validated in memory first; tasks are resolved with a single IN query and valid
+     * rows are written with JDBC batch inserts. Invalid rows are skipped and reported by index.
+     *
+     * @param timeLogDtos The entries to log.
+     * @return A map with the number of rows inserted and a list of per-row errors.
+     * @throws IllegalArgumentException if the batch is empty or too large.
+     * @throws IllegalStateException if no authenticated user is found.
+     */
+    @Transactional
+    public Map<String, Object> logTimeBatch(List<TimeLogDto> timeLogDtos) {
+        if (timeLogDtos == null || timeLogDtos.isEmpty()) {
+            throw new IllegalArgumentException("Time log batch cannot be empty.");
+        }
+        if (timeLogDtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Time log batch cannot exceed " + MAX_BATCH_SIZE + " entries.");
+        }
+
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentUser();
+
+        Set<Long> taskIds = new HashSet<>();
+        for (TimeLogDto dto : timeLogDtos) {
+            if (dto != null && dto.getTaskId() != null) {
+                taskIds.add(dto.getTaskId());
+            }
+        }
+        Map<Long, Long> projectIdByTaskId = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            // Tasks of other organizations are not returned, so their rows fail as "not found"
+            for (TaskProjectRef ref : taskRepository.findProjectRefsByIdIn(taskIds, currentUser.getOrganizationId())) {
+                projectIdByTaskId.put(ref.getId(), ref.getProjectId());
+            }
+        }
+
+        List<Map<String, Object>> errors = new ArrayList<>();
+        List<TimeLogBatchWriter.TimeLogRow> rows = new ArrayList<>(timeLogDtos.size());
+        Map<String, TimeLogBatchWriter.RollupDelta> deltas = new LinkedHashMap<>();
+
+        for (int i = 0; i < timeLogDtos.size(); i++) {
+            TimeLogDto dto = timeLogDtos.get(i);
+            String error = validateNewTimeLog(dto);
+            if (error == null && !projectIdByTaskId.containsKey(dto.getTaskId())) {
+                error = "Task with ID " + dto.getTaskId() + " not found.";
+            }
+            if (error != null) {
+                Map<String, Object> rowError = new HashMap<>();
+                rowError.put("index", i);
+                rowError.put("error", error);
+                errors.add(rowError);
+                continue;
+            }
+
+            rows.add(new TimeLogBatchWriter.TimeLogRow(dto.getTaskId(), currentUser.getId(), dto.getDateLogged(),
+                    dto.getHoursLogged(), dto.getWorkDescription().trim()));
+
+            // Collapse rows hitting the same rollup bucket into a single upsert
+            String bucketKey = dto.getTaskId() + "|" + dto.getDateLogged();
+            TimeLogBatchWriter.RollupDelta previous = deltas.get(bucketKey);
+            deltas.put(bucketKey, new TimeLogBatchWriter.RollupDelta(
+                    dto.getTaskId(), projectIdByTaskId.get(dto.getTaskId()), currentUser.getId(), dto.getDateLogged(),
+                    previous != null ? previous.getHours().add(dto.getHoursLogged()) : dto.getHoursLogged(),
+                    previous != null ? previous.getEntries() + 1 : 1));
+        }
+
+        if (!rows.isEmpty()) {
+            timeLogBatchWriter.insertTimeLogs(rows, LocalDateTime.now());
+            timeLogBatchWriter.applyRollupDeltas(new ArrayList<>(deltas.values()));
+        }
+        logger.info("User '{}' imported {} time logs in batch ({} rejected)",
+                currentUser.getUsername(), rows.size(), errors.size());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("inserted", rows.size());
+        result.put("rejected", errors.size());
+        result.put("errors", errors);
+        return result;
+    }
+
+    /**
+     * @return A message describing why the DTO cannot be logged, or null when it is valid.
+     */
+    private String validateNewTimeLog(TimeLogDto timeLogDto) {
+        if (timeLogDto == null) {
+            return "Time log data cannot be null.";
+        }
+        if (timeLogDto.getTaskId() == null) {
+            return "Task ID cannot be null for logging time.";
+        }
+        if (timeLogDto.getHoursLogged() == null || timeLogDto.getHoursLogged().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Hours logged must be a positive value.";
+        }
+        if (timeLogDto.getHoursLogged().compareTo(MAX_HOURS_PER_LOG) > 0 || timeLogDto.getHoursLogged().scale() > 2) {
+            return "Hours logged must be at most " + MAX_HOURS_PER_LOG + " with two decimal places.";
+        }
+        if (timeLogDto.getDateLogged() == null) {
+            return "Date logged cannot be null.";
+        }
+        if (timeLogDto.getWorkDescription() == null || timeLogDto.getWorkDescription().trim().isEmpty()) {
+            return "Work description cannot be empty.";
+        }
+        return null;
+    }
+
     public Optional<TimeLog> findTimeLogById(Long timeLogId) {
         return timeLogRepository.findById(timeLogId);
     }
@@ -125,6 +228,16 @@ public class TimeLogService {
         return timeLogRepository.findByTask_Id(taskId);
     }
 
+    /**
+     * Retrieves the time logs of a task with their users already loaded, for detail views.
+     *
+     * @param taskId The ID of the task.
+     * @return The task's time logs.
+     */
+    public List<TimeLog> getTimeLogsWithUsersForTask(Long taskId) {
+        return timeLogRepository.findWithUserByTask_Id(taskId);
+    }
+
     public List<TimeLog> getTimeLogsForCurrentUser() {
         User currentUser = getCurrentAuthenticatedUser();
         return timeLogRepository.findByUser_Id(currentUser.getId());
@@ -160,7 +273,7 @@ public class TimeLogService {
                     return new IllegalArgumentException("Time log with ID " + timeLogId + " not found.");
                 });
 
-        User currentUser = getCurrentAuthenticatedUser();
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentUser();
         if (!existingTimeLog.getUser().getId().equals(currentUser.getId())) {
             logger.warn("User '{}' (ID: {}) attempted to update time log ID: {} owned by user ID: {}",
                     currentUser.getUsername(), currentUser.getId(), timeLogId, existingTimeLog.getUser().getId());
@@ -168,6 +281,8 @@ public class TimeLogService {
         }
 
         boolean updated = false;
+        LocalDate previousDate = existingTimeLog.getDateLogged();
+        BigDecimal previousHours = existingTimeLog.getHoursLogged();
 
         if (timeLogDto.getDateLogged() != null && !timeLogDto.getDateLogged().equals(existingTimeLog.getDateLogged())) {
             existingTimeLog.setDateLogged(timeLogDto.getDateLogged());
@@ -188,6 +303,9 @@ public class TimeLogService {
 
         if (updated) {
             TimeLog savedTimeLog = timeLogRepository.save(existingTimeLog);
+            // Add the new contribution before removing the old one so an unchanged bucket is never emptied
+            timeLogRollupService.recordAdded(savedTimeLog);
+            timeLogRollupService.recordRemoved(savedTimeLog.getTask(), currentUser.getId(), previousDate, previousHours);
             logger.info("Time log ID: {} updated by user '{}'", savedTimeLog.getId(), currentUser.getUsername());
             return savedTimeLog;
         }
@@ -210,7 +328,7 @@ public class TimeLogService {
                     return new IllegalArgumentException("Time log with ID " + timeLogId + " not found.");
                 });
 
-        User currentUser = getCurrentAuthenticatedUser();
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentUser();
         if (!timeLogToDelete.getUser().getId().equals(currentUser.getId())) {
             logger.warn("User '{}' (ID: {}) attempted to delete time log ID: {} owned by user ID: {}",
                     currentUser.getUsername(), currentUser.getId(), timeLogId, timeLogToDelete.getUser().getId());
@@ -218,6 +336,8 @@ public class TimeLogService {
         }
 
         timeLogRepository.delete(timeLogToDelete);
+        timeLogRollupService.recordRemoved(timeLogToDelete.getTask(), currentUser.getId(),
+                timeLogToDelete.getDateLogged(), timeLogToDelete.getHoursLogged());
         logger.info("Time log ID: {} deleted by user '{}'", timeLogId, currentUser.getUsername());
     }
 }
\ No newline at end of file
@@ -0,0 +1,319 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over a few text fields per document, for ranked substring search.
+ * <p>
+ * Text is lower-cased and reduced to letters, digits and single spaces, and every three-character window
+ * becomes a posting key. A document matches when it contains most of the query's trigrams, which also
+ * tolerates a typo or two; hits are ranked by trigram overlap plus a bonus for a prefix or substring match
+ * on the first field. Queries shorter than three characters match word prefixes of the first field only.
+ * <p>
+ * Removed documents are tombstoned and the postings are rebuilt once tombstones outnumber live entries.
+ * Searches share a read lock; updates take the write lock.
+ */
+final class TrigramIndex {
+
+    // Longer text (task descriptions) is only indexed up to this many characters
+    static final int MAX_FIELD_LENGTH = 1000;
+
+    // Share of the query's trigrams a document must contain to match
+    private static final double MIN_TRIGRAM_OVERLAP = 0.7;
+
+    private static final int COMPACT_MIN_TOMBSTONES = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private long[] ids = new long[256];
+    private String[][] fields = new String[256][];
+    private int ordinals;
+    private int tombstones;
+
+    /**
+     * Adds or replaces a document.
+     */
+    void put(long id, String... values) {
+        String[] normalized = normalizeAll(values);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(id, normalized);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a document unless one with the same id is already present.
+     *
+     * @return Whether the document was added.
+     */
+    boolean putIfAbsent(long id, String... values) {
+        String[] normalized = normalizeAll(values);
+        lock.writeLock().lock();
+        try {
+            if (ordinalById.containsKey(id)) {
+                return false;
+            }
+            addLocked(id, normalized);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return One page of matching document ids, best first, with the total number of matches.
+     */
+    Hits search(String query, int offset, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (q.length() < 3) {
+                for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                    String[] docFields = fields[ordinal];
+                    if (docFields != null && startsWord(docFields[0], q)) {
+                        hits.add(new Hit(ids[ordinal], score(docFields, q, 1.0)));
+                    }
+                }
+            } else {
+                Set<Long> grams = trigrams(q);
+                int[] counts = new int[ordinals];
+                for (Long gram : grams) {
+                    Postings list = postings.get(gram);
+                    if (list != null) {
+                        for (int i = 0; i < list.size; i++) {
+                            counts[list.ordinals[i]]++;
+                        }
+                    }
+                }
+                int required = (int) Math.ceil(grams.size() * MIN_TRIGRAM_OVERLAP);
+                for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                    if (counts[ordinal] >= required && fields[ordinal] != null) {
+                        double overlap = (double) counts[ordinal] / grams.size();
+                        hits.add(new Hit(ids[ordinal], score(fields[ordinal], q, overlap)));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Comparator.comparingLong(Hit::id).reversed()));
+        int from = Math.min(Math.max(offset, 0), hits.size());
+        int to = Math.min(from + Math.max(limit, 0), hits.size());
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (Hit hit : hits.subList(from, to)) {
+            pageIds.add(hit.id());
+        }
+        return new Hits(pageIds, hits.size());
+    }
+
+    private void addLocked(long id, String[] normalized) {
+        if (ordinals == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            fields = Arrays.copyOf(fields, capacity);
+        }
+        int ordinal = ordinals++;
+        ids[ordinal] = id;
+        fields[ordinal] = normalized;
+        ordinalById.put(id, ordinal);
+        // One posting per distinct trigram of the document, so a trigram shared by several fields counts once
+        Set<Long> grams = new HashSet<>();
+        for (String field : normalized) {
+            grams.addAll(trigrams(field));
+        }
+        for (Long gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    // Postings keep the stale ordinal; search skips it because its fields are cleared
+    private void removeLocked(long id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal != null) {
+            fields[ordinal] = null;
+            tombstones++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones < COMPACT_MIN_TOMBSTONES || tombstones < ordinalById.size()) {
+            return;
+        }
+        long[] liveIds = new long[ordinalById.size()];
+        String[][] liveFields = new String[ordinalById.size()][];
+        int live = 0;
+        for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+            if (fields[ordinal] != null) {
+                liveIds[live] = ids[ordinal];
+                liveFields[live] = fields[ordinal];
+                live++;
+            }
+        }
+        ordinalById.clear();
+        postings.clear();
+        ids = new long[Math.max(256, live * 2)];
+        fields = new String[ids.length][];
+        ordinals = 0;
+        tombstones = 0;
+        for (int i = 0; i < live; i++) {
+            addLocked(liveIds[i], liveFields[i]);
+        }
+    }
+
+    private static double score(String[] docFields, String q, double overlap) {
+        String primary = docFields[0];
+        if (primary.startsWith(q)) {
+            return overlap + 2.0;
+        }
+        if (primary.contains(" " + q)) {
+            return overlap + 1.5;
+        }
+        if (primary.contains(q)) {
+            return overlap + 1.0;
+        }
+        for (int i = 1; i < docFields.length; i++) {
+            if (docFields[i].contains(q)) {
+                return overlap + 0.5;
+            }
+        }
+        return overlap;
+    }
+
+    private static boolean startsWord(String text, String q) {
+        return text.startsWith(q) || text.contains(" " + q);
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static String[] normalizeAll(String[] values) {
+        String[] normalized = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = normalize(values[i]);
+        }
+        return normalized;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(Math.min(lower.length(), MAX_FIELD_LENGTH));
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length() && out.length() < MAX_FIELD_LENGTH; i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private static final class Hit {
+
+        private final long id;
+        private final double score;
+
+        Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        long id() {
+            return id;
+        }
+
+        double score() {
+            return score;
+        }
+    }
+
+    /**
+     * One page of search results.
+     */
+    static final class Hits {
+
+        static final Hits EMPTY = new Hits(List.of(), 0);
+
+        private final List<Long> ids;
+        private final int total;
+
+        Hits(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        List<Long> getIds() {
+            return ids;
+        }
+
+        int getTotal() {
+            return total;
+        }
+    }
+
+    // Append-only ordinal list for one trigram
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
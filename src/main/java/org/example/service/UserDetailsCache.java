@@ -0,0 +1,80 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of authentication data used by {@link UserDetailsServiceImpl}.
+ * <p>
+ * Entries hold an {@link AuthenticatedUser} template and every lookup hands out a fresh copy, because
+ * Spring Security erases credentials on the instance it authenticated. Hit/miss statistics are published as {@code cache.*} metrics with
+ * {@code cache=userDetails}.
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    static final String CACHE_NAME = "userDetails";
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    @Autowired
+    public UserDetailsCache(@Value("${app.security.user-details-cache.ttl:5m}") Duration ttl,
+                            @Value("${app.security.user-details-cache.max-size:10000}") long maxSize,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached user details, loading them with {@code loader} on a miss. Concurrent misses for
+     * the same username share a single load; exceptions thrown by the loader are not cached.
+     */
+    public AuthenticatedUser get(String username, Function<String, AuthenticatedUser> loader) {
+        return cache.get(key(username), k -> loader.apply(username)).copy();
+    }
+
+    /**
+     * Drops the entry for {@code username}. When called inside a transaction the entry is dropped again
+     * after commit, so a concurrent login cannot re-cache the pre-commit state.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        String key = key(username);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        }
+        logger.debug("Evicted cached user details for {}", username);
+    }
+
+    // Usernames are matched case-insensitively by the database collation, so the cache does the same
+    private static String key(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService; // Ensure this is the correct import
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -23,17 +22,23 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class); // Add logger
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Autowired
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
+    // Not @Transactional: cache hits must not borrow a connection. Roles are mapped EAGER,
+    // so the repository call's own read-only transaction is enough on a miss.
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // System.out.println("!!! UserDetailsServiceImpl.loadUserByUsername CALLED with username: " + username + " !!!"); // Temporary test
-        logger.info("Attempting to load user by username: {}", username); // Log attempt
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    private AuthenticatedUser loadFromDatabase(String username) {
+        logger.debug("Loading user by username from database: {}", username);
 
         // It's good practice to normalize the username if it's stored normalized
         // String normalizedUsername = username.trim().toLowerCase();
@@ -44,7 +49,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     return new UsernameNotFoundException("User not found with username: " + username);
                 });
 
-        logger.info("User found: {}. Enabled: {}. Password (encoded): {}",
+        logger.debug("User found: {}. Enabled: {}. Password (encoded): {}",
                 user.getUsername(), user.isEnabled(), user.getPassword() != null ? "[PRESENT]" : "[NULL_OR_EMPTY]");
         // Be careful not to log the actual encoded password in production for too long,
         // but "[PRESENT]" or its length can be useful for debugging.
@@ -71,17 +76,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             // but usually doesn't directly cause "Invalid username/password"
             // unless authorization rules prevent login without roles.
         } else {
-            logger.info("User {} has authorities: {}", username, authorities);
+            logger.debug("User {} has authorities: {}", username, authorities);
         }
 
 
-        return new org.springframework.security.core.userdetails.User(
+        // getId() on the lazy organization proxy does not load the organization
+        Long organizationId = user.getOrganization() != null ? user.getOrganization().getId() : null;
+        return new AuthenticatedUser(
+                user.getId(),
+                organizationId,
                 user.getUsername(),
                 user.getPassword(), // This MUST be the encoded password from your database
                 user.isEnabled(),
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                true, // accountNonLocked
                 authorities);
     }
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.repository.UserRepository;
+import org.example.repository.projection.UserDirectoryRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Compact directory of each organization's enabled users for assignment pickers.
+ * <p>
+ * Built from a projection query (no entities, no roles) and cached per organization until a user write
+ * commits or the TTL passes. Each directory carries an ETag derived from its contents, so clients
+ * revalidating an unchanged directory get a 304 even after it has been rebuilt.
+ */
+@Service
+public class UserDirectoryService {
+
+    static final String CACHE_NAME = "userDirectory";
+
+    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final Cache<Long, Directory> cache;
+
+    @Autowired
+    public UserDirectoryService(UserRepository userRepository,
+                                CurrentUserResolver currentUserResolver,
+                                @Value("${app.users.directory-cache.ttl:10m}") Duration ttl,
+                                @Value("${app.users.directory-cache.max-size:10000}") long maxSize,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return The directory of the current user's organization.
+     * @throws IllegalStateException if the current user does not belong to an organization.
+     */
+    // Not read-only, so a rebuild reads the primary: a directory loaded from a lagging replica right after
+    // an eviction would be cached and served with a stable ETag for the whole TTL
+    @Transactional
+    public Directory getDirectoryForCurrentUser() {
+        Long organizationId = currentUserResolver.getOrganizationId();
+        if (organizationId == null) {
+            throw new IllegalStateException("Current user must belong to an organization to view users for task assignment");
+        }
+        return cache.get(organizationId, id -> Directory.of(userRepository.findDirectoryRowsByOrganizationId(id)));
+    }
+
+    /**
+     * Drops an organization's directory once the caller's transaction commits.
+     */
+    public void recordUsersChanged(Long organizationId) {
+        if (organizationId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(organizationId);
+                }
+            });
+        } else {
+            cache.invalidate(organizationId);
+        }
+    }
+
+    /**
+     * Immutable user directory of one organization, sorted by display name, with a prefix index over
+     * usernames, full names and each word of the name.
+     */
+    public static final class Directory {
+
+        private final List<Entry> entries;
+        private final String[] keys;
+        private final int[] entryIndexes;
+        private final String etag;
+
+        private Directory(List<Entry> entries, String[] keys, int[] entryIndexes, String etag) {
+            this.entries = entries;
+            this.keys = keys;
+            this.entryIndexes = entryIndexes;
+            this.etag = etag;
+        }
+
+        static Directory of(List<UserDirectoryRow> rows) {
+            List<Entry> entries = new ArrayList<>(rows.size());
+            for (UserDirectoryRow row : rows) {
+                String name = row.getName() != null && !row.getName().isBlank() ? row.getName() : row.getUsername();
+                entries.add(new Entry(row.getId(), row.getUsername(), name, row.getEmail(), row.getDesignation()));
+            }
+            entries.sort(Comparator.comparing((Entry entry) -> entry.getName().toLowerCase(Locale.ROOT))
+                    .thenComparing(Entry::getId));
+
+            List<String> keyList = new ArrayList<>();
+            List<Integer> indexList = new ArrayList<>();
+            CRC32 checksum = new CRC32();
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                addKey(keyList, indexList, entry.getUsername(), i);
+                addKey(keyList, indexList, entry.getName(), i);
+                for (String word : entry.getName().split("\\s+")) {
+                    addKey(keyList, indexList, word, i);
+                }
+                checksum.update(entry.fingerprint().getBytes(StandardCharsets.UTF_8));
+            }
+
+            Integer[] order = new Integer[keyList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(keyList::get));
+            String[] keys = new String[order.length];
+            int[] entryIndexes = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = keyList.get(order[i]);
+                entryIndexes[i] = indexList.get(order[i]);
+            }
+            String etag = "\"" + Long.toHexString(checksum.getValue()) + "-" + entries.size() + "\"";
+            return new Directory(List.copyOf(entries), keys, entryIndexes, etag);
+        }
+
+        private static void addKey(List<String> keys, List<Integer> indexes, String value, int entryIndex) {
+            if (value != null && !value.isBlank()) {
+                keys.add(value.trim().toLowerCase(Locale.ROOT));
+                indexes.add(entryIndex);
+            }
+        }
+
+        /**
+         * Users whose username, full name or any word of the name starts with {@code prefix}, in directory order.
+         * A blank prefix returns every user.
+         *
+         * @param limit Maximum number of users to return; null for no limit
+         */
+        public List<Entry> search(String prefix, Integer limit) {
+            int max = limit != null ? Math.max(limit, 0) : Integer.MAX_VALUE;
+            if (prefix == null || prefix.isBlank()) {
+                return entries.size() <= max ? entries : entries.subList(0, max);
+            }
+            String key = prefix.trim().toLowerCase(Locale.ROOT);
+            BitSet matches = new BitSet(entries.size());
+            for (int i = lowerBound(key); i < keys.length && keys[i].startsWith(key); i++) {
+                matches.set(entryIndexes[i]);
+            }
+            List<Entry> result = new ArrayList<>(Math.min(matches.cardinality(), max));
+            for (int i = matches.nextSetBit(0); i >= 0 && result.size() < max; i = matches.nextSetBit(i + 1)) {
+                result.add(entries.get(i));
+            }
+            return result;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * One user in the directory; {@code name} falls back to the username.
+     */
+    public static final class Entry {
+
+        private final Long id;
+        private final String username;
+        private final String name;
+        private final String email;
+        private final String designation;
+
+        Entry(Long id, String username, String name, String email, String designation) {
+            this.id = id;
+            this.username = username;
+            this.name = name;
+            this.email = email;
+            this.designation = designation;
+        }
+
+        // Every field that is served, so the ETag changes whenever the response would
+        String fingerprint() {
+            return id + "\u0000" + username + "\u0000" + name + "\u0000" + email + "\u0000"
+                    + Objects.toString(designation, "") + "\u0001";
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getDesignation() {
+            return designation;
+        }
+    }
+}
@@ -5,19 +5,32 @@ import org.example.models.AttendanceEntry;
 import org.example.models.Role; // Import the Role entity
 import org.example.models.User;
 import org.example.repository.AttendanceEntryRepository;
+import org.example.repository.AttendanceStateRepository;
 import org.example.repository.RoleRepository; // Import RoleRepository
+import org.example.repository.UserListRepository;
 import org.example.repository.UserRepository;
+import org.example.repository.UserSpecifications;
+import org.example.repository.projection.AttendanceMark;
+import org.example.repository.projection.UserListRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -26,19 +39,40 @@ import java.util.Set;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserListRepository userListRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository; // Inject RoleRepository
     private final AttendanceEntryRepository attendanceEntryRepository;
+    private final AttendanceStateRepository attendanceStateRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final OrganizationStatsService organizationStatsService;
+    private final UserDirectoryService userDirectoryService;
+
+    // User attributes the admin listing may sort by
+    public static final List<String> USER_LIST_SORT_PROPERTIES =
+            List.of("id", "username", "name", "email", "enabled", "designation");
+
+    static final int MAX_USER_LIST_PAGE_SIZE = 100;
 
     @Autowired
     public UserService(UserRepository userRepository,
+                       UserListRepository userListRepository,
                        PasswordEncoder passwordEncoder,
                        RoleRepository roleRepository,
-                       AttendanceEntryRepository attendanceEntryRepository) { // Add AttendanceEntryRepository to constructor
+                       AttendanceEntryRepository attendanceEntryRepository, // Add AttendanceEntryRepository to constructor
+                       AttendanceStateRepository attendanceStateRepository,
+                       UserDetailsCache userDetailsCache,
+                       OrganizationStatsService organizationStatsService,
+                       UserDirectoryService userDirectoryService) {
         this.userRepository = userRepository;
+        this.userListRepository = userListRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
         this.attendanceEntryRepository = attendanceEntryRepository;
+        this.attendanceStateRepository = attendanceStateRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.organizationStatsService = organizationStatsService;
+        this.userDirectoryService = userDirectoryService;
     }
 
     /**
@@ -113,7 +147,12 @@ public class UserService {
             throw new IllegalArgumentException("Admin user must belong to an organization to create users.");
         }
 
-        return userRepository.save(newUser);
+        User savedUser = userRepository.save(newUser);
+        // Seed the attendance state so clock-in/clock-out never have to create it
+        attendanceStateRepository.insertIfAbsent(savedUser.getId());
+        organizationStatsService.recordUserAdded(savedUser.getOrganization().getId());
+        userDirectoryService.recordUsersChanged(savedUser.getOrganization().getId());
+        return savedUser;
     }
 
     /**
@@ -192,6 +231,47 @@ public class UserService {
         return userRepository.findByOrganization_Id(organizationId);
     }
 
+    /**
+     * One page of the admin user listing, read as scalar rows; only the supplied filters become predicates.
+     *
+     * @param organizationId The ID of the organization.
+     * @param enabled        Only users with this enabled flag; null for all.
+     * @param role           Only users holding this role, with or without the "ROLE_" prefix; null for all.
+     * @param designation    Only users with exactly this designation; null for all.
+     * @param sort           One of {@link #USER_LIST_SORT_PROPERTIES}; ties are broken by user ID.
+     * @param descending     Whether to sort in descending order.
+     * @return The requested page of user rows.
+     * @throws IllegalArgumentException if the page, size or sort property is invalid.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserListRow> findUserListPage(Long organizationId, Boolean enabled, String role, String designation,
+                                              int page, int size, String sort, boolean descending) {
+        if (organizationId == null) {
+            throw new IllegalArgumentException("Organization ID cannot be null");
+        }
+        if (page < 0 || size < 1 || size > MAX_USER_LIST_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_USER_LIST_PAGE_SIZE + ".");
+        }
+        String sortProperty = sort != null && !sort.isBlank() ? sort.trim() : "name";
+        if (!USER_LIST_SORT_PROPERTIES.contains(sortProperty)) {
+            throw new IllegalArgumentException("Sort must be one of " + USER_LIST_SORT_PROPERTIES + ".");
+        }
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortProperty).and(Sort.by("id")));
+
+        String roleName = null;
+        if (role != null && !role.isBlank()) {
+            roleName = role.trim().toUpperCase(Locale.ROOT);
+            if (!roleName.startsWith("ROLE_")) {
+                roleName = "ROLE_" + roleName;
+            }
+        }
+        String designationFilter = designation != null && !designation.isBlank() ? designation.trim() : null;
+
+        return userListRepository.findPage(
+                UserSpecifications.matching(organizationId, enabled, roleName, designationFilter), pageable);
+    }
+
     /**
      * Counts users by organization.
      *
@@ -265,6 +345,7 @@ public class UserService {
         boolean alreadyAdmin = user.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.getName()));
         if (!alreadyAdmin) {
             user.getRoles().add(adminRole);
+            userDetailsCache.evict(user.getUsername());
             return userRepository.save(user);
         }
         return user; // User was already an admin or no change needed
@@ -291,6 +372,7 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
 
         user.setPassword(passwordEncoder.encode(newPassword.trim()));
+        userDetailsCache.evict(user.getUsername());
         return userRepository.save(user);
     }
 
@@ -308,6 +390,8 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
 
         user.setEnabled(enabled);
+        userDetailsCache.evict(user.getUsername());
+        userDirectoryService.recordUsersChanged(organizationIdOf(user));
         return userRepository.save(user);
     }
 
@@ -343,6 +427,7 @@ public class UserService {
         user.setName(name.trim());
         user.setEmail(trimmedEmail);
         user.setBio(bio != null ? bio.trim() : null);
+        userDirectoryService.recordUsersChanged(organizationIdOf(user));
         return userRepository.save(user);
     }
 
@@ -354,7 +439,13 @@ public class UserService {
      */
     @Transactional
     public User save(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userDirectoryService.recordUsersChanged(organizationIdOf(savedUser));
+        return savedUser;
+    }
+
+    private static Long organizationIdOf(User user) {
+        return user.getOrganization() != null ? user.getOrganization().getId() : null;
     }
 
     /**
@@ -366,62 +457,83 @@ public class UserService {
      * @return Map of date strings to attendance status
      */
     public Map<String, String> getUserAttendanceForMonth(Long userId, int year, int month) {
-        // Create date range for the month
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        // Get all attendance entries for the user in the specified month
+        YearMonth yearMonth = YearMonth.of(year, month);
+
+        // Single range query for the whole month; days are bucketed in memory
         List<AttendanceEntry> entries = attendanceEntryRepository
-                .findByUserIdAndTimestampBetweenOrderByTimestampDesc(userId, startDateTime, endDateTime);
-        
+                .findByUserIdAndTimestampBetweenOrderByTimestampDesc(
+                        userId, yearMonth.atDay(1).atStartOfDay(), yearMonth.atEndOfMonth().atTime(23, 59, 59));
+
+        Map<LocalDate, Set<AttendanceEntry.EntryType>> marksByDate = new HashMap<>();
+        for (AttendanceEntry entry : entries) {
+            marksByDate.computeIfAbsent(entry.getTimestamp().toLocalDate(),
+                    date -> EnumSet.noneOf(AttendanceEntry.EntryType.class)).add(entry.getEntryType());
+        }
+        return buildAttendanceCalendar(yearMonth, marksByDate, LocalDate.now());
+    }
+
+    /**
+     * Gets attendance calendars for every user of an organization for a specific month.
+     * All attendance rows for the month are read with one query and bucketed per user and day.
+     *
+     * @param organizationId The ID of the organization
+     * @param year The year
+     * @param month The month (1-12)
+     * @return Map of user IDs to their date-string to attendance-status calendar
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, String>> getOrganizationAttendanceForMonth(Long organizationId, int year, int month) {
+        if (organizationId == null) {
+            throw new IllegalArgumentException("Organization ID cannot be null");
+        }
+        YearMonth yearMonth = YearMonth.of(year, month);
+
+        // One query for the users and their entries, so users without entries still get a calendar
+        List<AttendanceMark> marks = attendanceEntryRepository.findUserMarksByOrganizationIdAndTimestampBetween(
+                organizationId, yearMonth.atDay(1).atStartOfDay(), yearMonth.atEndOfMonth().atTime(23, 59, 59));
+
+        Map<Long, Map<LocalDate, Set<AttendanceEntry.EntryType>>> marksByUser = new LinkedHashMap<>();
+        for (AttendanceMark mark : marks) {
+            Map<LocalDate, Set<AttendanceEntry.EntryType>> userMarks =
+                    marksByUser.computeIfAbsent(mark.getUserId(), id -> new HashMap<>());
+            if (mark.getTimestamp() != null) {
+                userMarks.computeIfAbsent(mark.getTimestamp().toLocalDate(),
+                                date -> EnumSet.noneOf(AttendanceEntry.EntryType.class))
+                        .add(mark.getEntryType());
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<Long, Map<String, String>> calendars = new LinkedHashMap<>();
+        marksByUser.forEach((userId, userMarks) ->
+                calendars.put(userId, buildAttendanceCalendar(yearMonth, userMarks, today)));
+        return calendars;
+    }
+
+    /**
+     * Classifies every day of a month from the entry types recorded on that day.
+     * Past working days (Monday-Saturday) without entries are absent; future days and
+     * Sundays without entries are no-data; a day with a clock-in counts as present.
+     */
+    private Map<String, String> buildAttendanceCalendar(YearMonth yearMonth,
+                                                        Map<LocalDate, Set<AttendanceEntry.EntryType>> marksByDate,
+                                                        LocalDate today) {
         Map<String, String> attendanceMap = new HashMap<>();
-        
-        // Process each day in the month
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+        for (LocalDate date = yearMonth.atDay(1); !date.isAfter(yearMonth.atEndOfMonth()); date = date.plusDays(1)) {
             String dateStr = date.toString(); // Format: YYYY-MM-DD
-            
-            // Get entries for this specific date
-            List<AttendanceEntry> dayEntries = attendanceEntryRepository.findByUserIdAndDate(userId, date);
-            
-            // Check if this is a working day (Monday-Saturday)
-            int dayOfWeek = date.getDayOfWeek().getValue(); // 1=Monday, 7=Sunday
-            boolean isWorkingDay = dayOfWeek >= 1 && dayOfWeek <= 6; // Monday to Saturday
-            
-            // Check if this date is in the past (before today)
-            LocalDate today = LocalDate.now();
-            boolean isPastDate = date.isBefore(today);
-            
-            if (dayEntries.isEmpty()) {
-                // No entries for this date
-                if (isWorkingDay && isPastDate) {
-                    // For past working days with no data, consider as absent
-                    attendanceMap.put(dateStr, "absent");
-                } else {
-                    // For future working days or non-working days, mark as no-data
-                    attendanceMap.put(dateStr, "no-data");
-                }
+            Set<AttendanceEntry.EntryType> dayMarks = marksByDate.get(date);
+
+            if (dayMarks == null || dayMarks.isEmpty()) {
+                boolean isWorkingDay = date.getDayOfWeek() != DayOfWeek.SUNDAY;
+                attendanceMap.put(dateStr, isWorkingDay && date.isBefore(today) ? "absent" : "no-data");
+            } else if (dayMarks.contains(AttendanceEntry.EntryType.CLOCK_IN)) {
+                // Clock-in with or without clock-out (user may have forgotten to clock out)
+                attendanceMap.put(dateStr, "present");
             } else {
-                // Determine if user was present (has both clock-in and clock-out)
-                boolean hasClockIn = dayEntries.stream()
-                        .anyMatch(entry -> entry.getEntryType() == AttendanceEntry.EntryType.CLOCK_IN);
-                boolean hasClockOut = dayEntries.stream()
-                        .anyMatch(entry -> entry.getEntryType() == AttendanceEntry.EntryType.CLOCK_OUT);
-                
-                if (hasClockIn && hasClockOut) {
-                    attendanceMap.put(dateStr, "present");
-                } else if (hasClockIn) {
-                    // Only clock-in, might be present but forgot to clock out
-                    attendanceMap.put(dateStr, "present");
-                } else {
-                    // Only clock-out or other cases
-                    attendanceMap.put(dateStr, "absent");
-                }
+                // Only clock-out or other cases
+                attendanceMap.put(dateStr, "absent");
             }
         }
-        
         return attendanceMap;
     }
 
@@ -445,6 +557,7 @@ public class UserService {
         user.getRoles().add(role);
         
         userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
     }
 
     // Optional: Custom exception for role not found
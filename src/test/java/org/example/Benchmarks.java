@@ -0,0 +1,124 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal closed-loop load driver for the benchmark-tagged tests: {@code clients} threads each run an
+ * operation {@code iterations} times back to back, and every call's latency is recorded.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * @param client Index of the calling client, from 0 to clients - 1.
+         * @param iteration Index of the call within that client.
+         * @return Whether the call succeeded; failures are counted, not timed separately.
+         */
+        boolean run(int client, int iteration) throws Exception;
+    }
+
+    /**
+     * Runs {@code warmup} untimed calls per client, then the measured ones. Clients are virtual threads, so the
+     * driver itself does not limit concurrency.
+     */
+    public static Result run(String label, int clients, int warmup, int iterations, Operation operation)
+            throws Exception {
+        if (warmup > 0) {
+            drive(clients, warmup, operation, new long[clients * warmup], new AtomicInteger());
+        }
+        long[] latencies = new long[clients * iterations];
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        drive(clients, iterations, operation, latencies, failures);
+        long elapsed = System.nanoTime() - start;
+        Result result = new Result(label, latencies, failures.get(), elapsed);
+        System.out.println(result);
+        return result;
+    }
+
+    private static void drive(int clients, int iterations, Operation operation, long[] latencies,
+                              AtomicInteger failures) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        long begin = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = operation.run(client, i);
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        latencies[client * iterations + i] = System.nanoTime() - begin;
+                        if (!ok) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    /**
+     * Throughput and latency percentiles of one run.
+     */
+    public static final class Result {
+        private final String label;
+        private final long[] sortedLatencies;
+        private final int failures;
+        private final long elapsedNanos;
+
+        private Result(String label, long[] latencies, int failures, long elapsedNanos) {
+            this.label = label;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getCalls() {
+            return sortedLatencies.length;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        public double getThroughputPerSecond() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        public double getPercentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "[benchmark] %-40s calls=%d failures=%d throughput=%.1f/s p50=%.2fms p99=%.2fms",
+                    label, getCalls(), failures, getThroughputPerSecond(),
+                    getPercentileMillis(50), getPercentileMillis(99));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests that need the real schema on MySQL. One container is started for the whole test run
+ * and shared by every Spring context; tests isolate themselves by creating their own organization.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.security=INFO"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@Import(TestFixtures.class)
+public abstract class MySqlIntegrationTest {
+
+    @ServiceConnection
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    static {
+        MYSQL.start();
+    }
+}
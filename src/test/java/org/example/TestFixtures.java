@@ -0,0 +1,158 @@
+package org.example;
+
+import org.example.models.Organization;
+import org.example.models.Project;
+import org.example.models.Role;
+import org.example.models.Task;
+import org.example.models.User;
+import org.example.models.enums.ProjectCategory;
+import org.example.models.enums.ProjectPriority;
+import org.example.models.enums.ProjectStage;
+import org.example.models.enums.ProjectStatus;
+import org.example.models.enums.TaskStatus;
+import org.example.repository.OrganizationRepository;
+import org.example.repository.ProjectRepository;
+import org.example.repository.RoleRepository;
+import org.example.repository.TaskRepository;
+import org.example.repository.UserRepository;
+import org.example.service.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates the rows integration tests need. Every name is unique, so tests never see each other's data.
+ */
+@TestComponent
+public class TestFixtures {
+
+    /**
+     * Password of every user created here.
+     */
+    public static final String PASSWORD = "password";
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // BCrypt is deliberately slow; hash the shared password once
+    private volatile String encodedPassword;
+
+    public Organization organization() {
+        String key = unique();
+        return organizationRepository.save(new Organization("org-" + key, null, key + "@example.org"));
+    }
+
+    public User user(Organization organization) {
+        String key = unique();
+        User user = new User("user-" + key, encodedPassword(), key + "@example.org");
+        user.setName("User " + key);
+        user.setEnabled(true);
+        user.setOrganization(organization);
+        Role role = roleRepository.findByName("ROLE_USER").orElseGet(() -> roleRepository.save(new Role("ROLE_USER")));
+        user.setRoles(Set.of(role));
+        return userRepository.save(user);
+    }
+
+    public Project project(Organization organization) {
+        Project project = new Project();
+        project.setName("Project " + unique());
+        project.setClientName("Client");
+        project.setLocation("Location");
+        project.setStartDate(LocalDate.now());
+        project.setProjectCategory(ProjectCategory.ARCHITECTURE);
+        project.setStatus(ProjectStatus.PROGRESS);
+        project.setProjectStage(ProjectStage.STAGE_01_PREPARATION_BRIEF);
+        project.setOrganization(organization);
+        return projectRepository.save(project);
+    }
+
+    public Task task(Organization organization, User reporter, Project project, TaskStatus status) {
+        Task task = new Task();
+        task.setName("Task " + unique());
+        task.setProjectStage(ProjectStage.STAGE_01_PREPARATION_BRIEF);
+        task.setStatus(status);
+        task.setOrganization(organization);
+        task.setProject(project);
+        task.setReporter(reporter);
+        task.setAssignee(reporter);
+        return taskRepository.save(task);
+    }
+
+    /**
+     * Inserts {@code count} projects for benchmarks with one JDBC batch, bypassing the services (so no stats,
+     * facet or search index updates). Category, status, stage, priority, client, location, start date and
+     * budget cycle through a fixed spread of values, so every filter matches a predictable share of rows.
+     */
+    public void projects(Organization organization, int count) {
+        ProjectCategory[] categories = ProjectCategory.values();
+        ProjectStatus[] statuses = ProjectStatus.values();
+        ProjectStage[] stages = ProjectStage.values();
+        ProjectPriority[] priorities = ProjectPriority.values();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate firstStart = LocalDate.now().minusYears(2);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{
+                    "Project " + i + " " + unique(), "Client " + (i % 50), "Location " + (i % 20),
+                    firstStart.plusDays(i % 730), categories[i % categories.length].name(),
+                    statuses[i % statuses.length].name(), stages[i % stages.length].name(),
+                    priorities[i % priorities.length].name(), BigDecimal.valueOf((i % 100) * 1000L),
+                    now.minusMinutes(i), now.minusMinutes(i), organization.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO projects (name, client_name, location, start_date, project_category, " +
+                "project_status, project_stage, priority, budget, created_at, updated_at, organization_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Authenticates the calling thread as {@code user} with the given roles (e.g. "ROLE_ADMIN").
+     */
+    public void signIn(User user, String... roles) {
+        List<SimpleGrantedAuthority> authorities = roles.length == 0
+                ? List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                : java.util.Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList();
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getOrganization().getId(),
+                user.getUsername(), user.getPassword(), true, authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    public void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String encodedPassword() {
+        if (encodedPassword == null) {
+            encodedPassword = passwordEncoder.encode(PASSWORD);
+        }
+        return encodedPassword;
+    }
+
+    private static String unique() {
+        return UUID.randomUUID().toString().substring(0, 12);
+    }
+}
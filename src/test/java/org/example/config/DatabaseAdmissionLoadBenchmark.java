@@ -0,0 +1,113 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.Benchmarks;
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.models.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Drives /api traffic with more clients than the connection pool has connections, once on platform threads and
+ * once on virtual threads with the admission filter. One request in ten is a streaming export, so permits held
+ * across async dispatch are part of the mix. Prints throughput and p99 per mode; run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+abstract class DatabaseAdmissionLoadBenchmark extends MySqlIntegrationTest {
+
+    private static final int CLIENTS = 200;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 50;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void apiLoad() throws Exception {
+        User user = fixtures.user(fixtures.organization());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + user.getUsername()
+                                + "\",\"password\":\"" + TestFixtures.PASSWORD + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode(), login.body());
+
+        AtomicInteger rejected = new AtomicInteger();
+        Benchmarks.Result result = Benchmarks.run(getClass().getSimpleName(), CLIENTS, WARMUP, ITERATIONS,
+                (c, i) -> {
+                    String path = i % 10 == 0 ? "/api/exports/timelogs?format=csv" : "/api/attendance/status";
+                    int status = client.send(HttpRequest.newBuilder(uri(path)).GET().build(),
+                            HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status == 503) {
+                        rejected.incrementAndGet();
+                    }
+                    return status == 200;
+                });
+        System.out.printf("[benchmark] %s rejected with 503: %d%n", getClass().getSimpleName(), rejected.get());
+
+        assertEquals(result.getFailures(), rejected.get(), "only admission rejections may fail");
+        assertPermitsReturned();
+    }
+
+    /**
+     * Every permit must come back once the load stops, including those of async exports.
+     */
+    private void assertPermitsReturned() throws InterruptedException {
+        Gauge available = meterRegistry.find("http.server.admission.available").gauge();
+        if (available == null) {
+            return; // Platform threads: no admission filter
+        }
+        Gauge poolSize = meterRegistry.find("hikaricp.connections.max").gauge();
+        assertNotNull(poolSize);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (available.value() < poolSize.value() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(poolSize.value(), available.value(), "admission permits leaked");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.jpa.show-sql=false",
+            "spring.threads.virtual.enabled=false"
+    })
+    static class PlatformThreads extends DatabaseAdmissionLoadBenchmark {
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.jpa.show-sql=false",
+            "spring.threads.virtual.enabled=true"
+    })
+    static class VirtualThreads extends DatabaseAdmissionLoadBenchmark {
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.models.Role;
+import org.example.models.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Once warm, role lookups are served by the second-level and query caches: no statement reaches the
+ * database for {@link RoleRepository#findByName} or for {@code User.roles}.
+ */
+class RoleCacheTest extends MySqlIntegrationTest {
+
+    private static final int LOOKUPS = 20;
+
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByNameIsServedFromTheCache() {
+        roleRepository.findByName("ROLE_USER").orElseThrow();
+
+        statistics.clear();
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertEquals("ROLE_USER", roleRepository.findByName("ROLE_USER").orElseThrow().getName());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(LOOKUPS, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= LOOKUPS);
+    }
+
+    @Test
+    void userRolesAreServedFromTheCache() {
+        User user = fixtures.user(fixtures.organization());
+        loadRoles(user.getUsername());
+
+        statistics.clear();
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertEquals(1, loadRoles(user.getUsername()).size());
+        }
+
+        // Only the users row itself is read; the role ids and the roles come from the cache
+        assertEquals(LOOKUPS, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2L * LOOKUPS);
+    }
+
+    private Set<Role> loadRoles(String username) {
+        return transactionTemplate.execute(status -> {
+            Set<Role> roles = userRepository.findByUsername(username).orElseThrow().getRoles();
+            roles.forEach(Role::getName);
+            return roles;
+        });
+    }
+}
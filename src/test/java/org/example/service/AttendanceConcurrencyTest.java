@@ -0,0 +1,95 @@
+package org.example.service;
+
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.models.AttendanceEntry;
+import org.example.models.AttendanceState;
+import org.example.models.Organization;
+import org.example.models.User;
+import org.example.repository.AttendanceEntryRepository;
+import org.example.repository.AttendanceStateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttendanceConcurrencyTest extends MySqlIntegrationTest {
+
+    private static final int CLOCK_INS = 200;
+
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private AttendanceStateRepository attendanceStateRepository;
+    @Autowired
+    private AttendanceEntryRepository attendanceEntryRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void simultaneousClockInsOfOneUserRecordExactlyOneEntry() throws Exception {
+        User user = fixtures.user(fixtures.organization());
+        AtomicInteger rejected = new AtomicInteger();
+
+        int recorded = TaskStatusTransitionConcurrencyTest.runConcurrently(CLOCK_INS, () -> {
+            try {
+                attendanceService.clockIn(user, null);
+                return 1;
+            } catch (AttendanceService.AttendanceStateException e) {
+                rejected.incrementAndGet();
+                return 0;
+            }
+        });
+
+        assertEquals(1, recorded);
+        assertEquals(CLOCK_INS - 1, rejected.get());
+        assertEquals(1, attendanceEntryRepository.findByUserIdOrderByTimestampDesc(user.getId()).size());
+        assertTrue(attendanceService.getState(user.getId()).isClockedInOn(LocalDate.now()));
+    }
+
+    @Test
+    void simultaneousFirstClockInsOfManyUsersDoNotDeadlock() throws Exception {
+        // None of these users has a state row yet, so every clock-in also creates one. The inserts land in
+        // neighbouring gaps of the primary key, which is where a gap-locking UPDATE would deadlock them.
+        Organization organization = fixtures.organization();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < CLOCK_INS; i++) {
+            users.add(fixtures.user(organization));
+        }
+        AtomicInteger next = new AtomicInteger();
+
+        int recorded = TaskStatusTransitionConcurrencyTest.runConcurrently(CLOCK_INS, () -> {
+            attendanceService.clockIn(users.get(next.getAndIncrement()), null);
+            return 1;
+        });
+
+        assertEquals(CLOCK_INS, recorded);
+        for (User user : users) {
+            assertTrue(attendanceStateRepository.findById(user.getId()).orElseThrow().isClockedInOn(LocalDate.now()));
+        }
+    }
+
+    @Test
+    void getStateDoesNotCreateTheStateRow() {
+        User user = fixtures.user(fixtures.organization());
+
+        AttendanceState empty = attendanceService.getState(user.getId());
+        assertNull(empty.getLastEntryType());
+        assertFalse(attendanceStateRepository.existsById(user.getId()));
+
+        AttendanceEntry entry = attendanceEntryRepository.save(new AttendanceEntry(user,
+                AttendanceEntry.EntryType.CLOCK_IN, LocalDate.now().atTime(9, 0), null));
+        AttendanceState fromHistory = attendanceService.getState(user.getId());
+        assertEquals(entry.getId(), fromHistory.getLastEntryId());
+        assertTrue(fromHistory.isClockedInOn(LocalDate.now()));
+        assertFalse(attendanceStateRepository.existsById(user.getId()));
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.service;
+
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.models.Organization;
+import org.example.models.OrganizationStats;
+import org.example.models.User;
+import org.example.models.enums.TaskStatus;
+import org.example.repository.OrganizationStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class OrganizationStatsReconcileTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private OrganizationStatsService statsService;
+    @Autowired
+    private OrganizationStatsRepository statsRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void rebuildCorrectsDriftedCountersPerOrganization() {
+        Organization organization = fixtures.organization();
+        User user = fixtures.user(organization);
+        fixtures.task(organization, user, fixtures.project(organization), TaskStatus.TO_DO);
+        statsService.getStats(organization.getId());
+        transactionTemplate.executeWithoutResult(status ->
+                statsRepository.applyCounts(organization.getId(), 99, 99, 99, 99, LocalDateTime.now()));
+
+        statsService.rebuild();
+
+        OrganizationStats stats = statsRepository.findById(organization.getId()).orElseThrow();
+        assertEquals(1, stats.getTotalUsers());
+        assertEquals(1, stats.getTotalProjects());
+        assertEquals(1, stats.getTotalTasks());
+        assertEquals(1, stats.getActiveProjects());
+    }
+
+    @Test
+    void rebuildDoesNotCreateMissingRows() {
+        Organization organization = fixtures.organization();
+
+        statsService.rebuild();
+
+        assertFalse(statsRepository.existsById(organization.getId()));
+    }
+}
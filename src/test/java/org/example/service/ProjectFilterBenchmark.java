@@ -0,0 +1,76 @@
+package org.example.service;
+
+import org.example.Benchmarks;
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.dto.ProjectFilter;
+import org.example.models.Organization;
+import org.example.models.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Page latency of the filtered project grid for each kind of filter and a few combinations, on a tenant
+ * with 20k projects next to other tenants' rows. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ProjectFilterBenchmark extends MySqlIntegrationTest {
+
+    private static final int PROJECTS = 20_000;
+    private static final int OTHER_TENANTS = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void filterCombinations() throws Exception {
+        Organization measured = fixtures.organization();
+        User user = fixtures.user(measured);
+        fixtures.projects(measured, PROJECTS);
+        for (int i = 0; i < OTHER_TENANTS; i++) {
+            fixtures.projects(fixtures.organization(), PROJECTS / 4);
+        }
+
+        LocalDate from = LocalDate.now().minusYears(1);
+        LocalDate to = from.plusMonths(3);
+        BigDecimal budgetMin = new BigDecimal("10000");
+        BigDecimal budgetMax = new BigDecimal("20000");
+        // Arguments: category, priority, status, stage, client, location, start from/to, budget min/max
+        Map<String, ProjectFilter> filters = new LinkedHashMap<>();
+        filters.put("none", null);
+        filters.put("status", projectService.buildFilter(null, null, "PROGRESS", null, null, null, null, null, null, null));
+        filters.put("category", projectService.buildFilter("INTERIOR", null, null, null, null, null, null, null, null, null));
+        filters.put("status + category",
+                projectService.buildFilter("INTERIOR", null, "PROGRESS", null, null, null, null, null, null, null));
+        filters.put("stage + priority", projectService.buildFilter(null, "HIGH", null, "STAGE_01_PREPARATION_BRIEF",
+                null, null, null, null, null, null));
+        filters.put("client prefix", projectService.buildFilter(null, null, null, null, "Client 1", null, null, null, null, null));
+        filters.put("location prefix",
+                projectService.buildFilter(null, null, null, null, null, "Location 7", null, null, null, null));
+        filters.put("start date range", projectService.buildFilter(null, null, null, null, null, null, from, to, null, null));
+        filters.put("budget range",
+                projectService.buildFilter(null, null, null, null, null, null, null, null, budgetMin, budgetMax));
+        filters.put("category + date range",
+                projectService.buildFilter("INTERIOR", null, null, null, null, null, from, to, null, null));
+        filters.put("everything", projectService.buildFilter("INTERIOR", "HIGH", "PROGRESS", "STAGE_01_PREPARATION_BRIEF",
+                "Client 1", "Location 1", from, to, budgetMin, budgetMax));
+
+        for (Map.Entry<String, ProjectFilter> entry : filters.entrySet()) {
+            Benchmarks.Result result = Benchmarks.run("project filter: " + entry.getKey(), 4, 20, 100,
+                    (c, i) -> projectService.findProjectsPaginatedAndFiltered(
+                            user.getUsername(), 0, PAGE_SIZE, entry.getValue()).containsKey("projects"));
+            assertEquals(0, result.getFailures());
+        }
+    }
+}
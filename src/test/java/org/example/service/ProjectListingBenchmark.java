@@ -0,0 +1,76 @@
+package org.example.service;
+
+import org.example.Benchmarks;
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.models.Organization;
+import org.example.models.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latency and allocation of one tenant's project listing while the number of other tenants grows. The
+ * listing is scoped in the repository, so neither should move. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ProjectListingBenchmark extends MySqlIntegrationTest {
+
+    private static final int PROJECTS_PER_TENANT = 500;
+    private static final int[] OTHER_TENANTS = {0, 20, 100};
+    private static final int PAGE_SIZE = 50;
+    private static final int CALLS = 200;
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void listingStaysFlatAsTenantsGrow() throws Exception {
+        Organization measured = fixtures.organization();
+        User user = fixtures.user(measured);
+        fixtures.projects(measured, PROJECTS_PER_TENANT);
+
+        long baselineBytes = 0;
+        int seeded = 0;
+        for (int tenants : OTHER_TENANTS) {
+            for (; seeded < tenants; seeded++) {
+                fixtures.projects(fixtures.organization(), PROJECTS_PER_TENANT);
+            }
+            String label = String.format(Locale.ROOT, "project listing, %d other tenants", tenants);
+            Benchmarks.Result summaries = Benchmarks.run(label + " (summaries)", 4, 20, CALLS,
+                    (c, i) -> ((List<?>) projectService.findProjectSummariesByOrganization(user.getUsername(), null, PAGE_SIZE)
+                            .get("projects")).size() == PAGE_SIZE);
+            Benchmarks.Result entities = Benchmarks.run(label + " (entities)", 4, 20, CALLS,
+                    (c, i) -> projectService.findProjectsByOrganization(user.getUsername()).size() == PROJECTS_PER_TENANT);
+            assertTrue(summaries.getFailures() == 0 && entities.getFailures() == 0);
+
+            long bytes = allocatedBytesPerCall(user.getUsername());
+            System.out.printf(Locale.ROOT, "[benchmark] %s: %d bytes allocated per summary page%n", label, bytes);
+            if (tenants == 0) {
+                baselineBytes = bytes;
+            } else {
+                assertTrue(bytes < baselineBytes * 2, "allocation grew with the number of tenants");
+            }
+        }
+    }
+
+    // Measured on the test thread: allocation counters are only available for platform threads
+    private long allocatedBytesPerCall(String username) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        projectService.findProjectSummariesByOrganization(username, null, PAGE_SIZE);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < CALLS; i++) {
+            projectService.findProjectSummariesByOrganization(username, null, PAGE_SIZE);
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / CALLS;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.service;
+
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.dto.TaskBulkOperationDto;
+import org.example.models.Organization;
+import org.example.models.Project;
+import org.example.models.Task;
+import org.example.models.User;
+import org.example.models.enums.TaskStatus;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskBulkStatusTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void signOut() {
+        fixtures.signOut();
+    }
+
+    @Test
+    void bulkCheckOnlyAppliesToTasksOfTheCallingChecker() {
+        Organization organization = fixtures.organization();
+        Project project = fixtures.project(organization);
+        User reporter = fixtures.user(organization);
+        User checker = fixtures.user(organization);
+        Task own = doneTask(organization, reporter, project, reporter);
+        Task someoneElses = doneTask(organization, reporter, project, checker);
+
+        fixtures.signIn(reporter);
+        Map<Long, TaskService.BulkOutcome> results = taskService.applyBulkOperation(
+                checkRequest(own.getId(), someoneElses.getId()));
+
+        assertEquals(TaskService.BulkOutcome.UPDATED, results.get(own.getId()));
+        assertEquals(TaskService.BulkOutcome.FORBIDDEN, results.get(someoneElses.getId()));
+        assertEquals(TaskStatus.CHECKED, taskRepository.findStatusById(own.getId()).orElseThrow());
+        assertEquals(TaskStatus.DONE, taskRepository.findStatusById(someoneElses.getId()).orElseThrow());
+    }
+
+    private Task doneTask(Organization organization, User reporter, Project project, User checker) {
+        Task task = fixtures.task(organization, reporter, project, TaskStatus.DONE);
+        task.setCheckedBy(checker);
+        return taskRepository.save(task);
+    }
+
+    private static TaskBulkOperationDto checkRequest(Long... taskIds) {
+        TaskBulkOperationDto request = new TaskBulkOperationDto();
+        request.setOperation(TaskBulkOperationDto.Operation.STATUS);
+        request.setStatus(TaskStatus.CHECKED);
+        request.setTaskIds(List.of(taskIds));
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.dto.TaskRowDto;
+import org.example.models.Organization;
+import org.example.models.Project;
+import org.example.models.Task;
+import org.example.models.User;
+import org.example.models.enums.TaskStatus;
+import org.example.repository.TaskRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A task page and its JSON mapping ({@link TaskRowDto#toResponse}) must cost the same number of statements
+ * however many distinct projects and users the rows reference.
+ */
+class TaskPageStatementCountTest extends MySqlIntegrationTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void statementCountDoesNotGrowWithRelatedUsers() {
+        Project shared = projectWithTasks(PAGE_SIZE + 5, false);
+        Project distinct = projectWithTasks(PAGE_SIZE + 5, true);
+
+        long sharedOffset = statementsFor(() -> taskService.getTasksByProjectIdPaginated(shared.getId(), 0, PAGE_SIZE));
+        long distinctOffset = statementsFor(() -> taskService.getTasksByProjectIdPaginated(distinct.getId(), 0, PAGE_SIZE));
+        long sharedCursor = statementsFor(() -> taskService.getTasksByProjectIdByCursor(shared.getId(), null, PAGE_SIZE, false));
+        long distinctCursor = statementsFor(() -> taskService.getTasksByProjectIdByCursor(distinct.getId(), null, PAGE_SIZE, false));
+
+        assertEquals(sharedOffset, distinctOffset);
+        assertEquals(sharedCursor, distinctCursor);
+        // Project existence check, the row query and, for offset pages, the count
+        assertEquals(3, distinctOffset);
+        assertEquals(2, distinctCursor);
+    }
+
+    private long statementsFor(Supplier<Map<String, Object>> loader) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<String, Object> page = loader.get();
+        @SuppressWarnings("unchecked")
+        List<TaskRowDto> rows = (List<TaskRowDto>) page.get("tasks");
+        assertEquals(PAGE_SIZE, rows.size());
+        rows.forEach(TaskRowDto::toResponse);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Project projectWithTasks(int count, boolean distinctUsers) {
+        Organization organization = fixtures.organization();
+        Project project = fixtures.project(organization);
+        User reporter = fixtures.user(organization);
+        for (int i = 0; i < count; i++) {
+            Task task = fixtures.task(organization, distinctUsers ? fixtures.user(organization) : reporter,
+                    project, TaskStatus.TO_DO);
+            task.setAssignee(distinctUsers ? fixtures.user(organization) : reporter);
+            task.setCheckedBy(distinctUsers ? fixtures.user(organization) : reporter);
+            taskRepository.save(task);
+        }
+        return project;
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.service;
+
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.models.Organization;
+import org.example.models.Task;
+import org.example.models.User;
+import org.example.models.enums.TaskStatus;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskStatusTransitionConcurrencyTest extends MySqlIntegrationTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void signOut() {
+        fixtures.signOut();
+    }
+
+    @Test
+    void onlyOneOfManyConcurrentIdenticalTransitionsWins() throws Exception {
+        Task task = newTask(TaskStatus.TO_DO);
+        AtomicInteger conflicts = new AtomicInteger();
+
+        int applied = runConcurrently(THREADS, () -> {
+            try {
+                taskService.transitionStatus(task.getId(), TaskStatus.TO_DO, TaskStatus.IN_PROGRESS);
+                return 1;
+            } catch (TaskService.StatusConflictException e) {
+                conflicts.incrementAndGet();
+                return 0;
+            }
+        });
+
+        assertEquals(1, applied);
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findStatusById(task.getId()).orElseThrow());
+    }
+
+    @Test
+    void noTransitionIsLostUnderContention() throws Exception {
+        // Every thread keeps flipping the task between TO_DO and IN_PROGRESS from whatever it last read.
+        // Each applied transition bumps the version exactly once, so a lost update shows up as a gap.
+        Task task = newTask(TaskStatus.TO_DO);
+        long startVersion = taskRepository.findById(task.getId()).orElseThrow().getVersion();
+
+        int applied = runConcurrently(THREADS, () -> {
+            int mine = 0;
+            for (int i = 0; i < 25; i++) {
+                TaskStatus current = taskRepository.findStatusById(task.getId()).orElseThrow();
+                TaskStatus next = current == TaskStatus.TO_DO ? TaskStatus.IN_PROGRESS : TaskStatus.TO_DO;
+                try {
+                    taskService.transitionStatus(task.getId(), current, next);
+                    mine++;
+                } catch (TaskService.StatusConflictException e) {
+                    // Someone else moved it first; read again and retry
+                }
+            }
+            return mine;
+        });
+
+        Task reloaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(startVersion + applied, reloaded.getVersion().longValue());
+        assertEquals(applied % 2 == 0 ? TaskStatus.TO_DO : TaskStatus.IN_PROGRESS, reloaded.getStatus());
+    }
+
+    @Test
+    void editFormCannotCheckATaskForSomeoneElse() {
+        Organization organization = fixtures.organization();
+        User reporter = fixtures.user(organization);
+        User checker = fixtures.user(organization);
+        Task task = fixtures.task(organization, reporter, fixtures.project(organization), TaskStatus.DONE);
+        task.setCheckedBy(checker);
+        taskRepository.save(task);
+
+        fixtures.signIn(reporter);
+        assertThrows(IllegalStateException.class, () -> taskService.updateTaskComplete(task.getId(), "Renamed",
+                null, task.getProjectStage().name(), TaskStatus.CHECKED.name(), task.getPriority().name(), null,
+                reporter.getId(), checker.getId()));
+        assertEquals(TaskStatus.DONE, taskRepository.findStatusById(task.getId()).orElseThrow());
+
+        fixtures.signIn(checker);
+        Task checked = taskService.updateTaskComplete(task.getId(), "Renamed", null, task.getProjectStage().name(),
+                TaskStatus.CHECKED.name(), task.getPriority().name(), null, reporter.getId(), checker.getId());
+        assertEquals(TaskStatus.CHECKED, checked.getStatus());
+        assertEquals("Renamed", checked.getName());
+    }
+
+    @Test
+    void editFormRejectsTransitionsTheStateMachineForbids() {
+        Task task = newTask(TaskStatus.TO_DO);
+        fixtures.signIn(task.getReporter());
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTaskComplete(task.getId(), "Renamed",
+                null, task.getProjectStage().name(), TaskStatus.CHECKED.name(), task.getPriority().name(), null,
+                null, null));
+        assertEquals(TaskStatus.TO_DO, taskRepository.findStatusById(task.getId()).orElseThrow());
+    }
+
+    private Task newTask(TaskStatus status) {
+        Organization organization = fixtures.organization();
+        User reporter = fixtures.user(organization);
+        return fixtures.task(organization, reporter, fixtures.project(organization), status);
+    }
+
+    /**
+     * Starts {@code threads} copies of {@code work} together and returns the sum of their results.
+     */
+    static int runConcurrently(int threads, Callable<Integer> work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return work.call();
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service;
+
+import org.example.Benchmarks;
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.dto.TimeLogDto;
+import org.example.models.Organization;
+import org.example.models.Project;
+import org.example.models.Task;
+import org.example.models.User;
+import org.example.models.enums.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rows per second of a timesheet import through {@link TimeLogService#logTimeBatch} versus the same rows
+ * logged one {@link TimeLogService#logTime} call at a time. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class TimeLogBatchBenchmark extends MySqlIntegrationTest {
+
+    private static final int CLIENTS = 8;
+    private static final int ROWS_PER_IMPORT = 200;
+    private static final int TASKS = 20;
+
+    @Autowired
+    private TimeLogService timeLogService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void batchVersusSingleRow() throws Exception {
+        Organization organization = fixtures.organization();
+        Project project = fixtures.project(organization);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            users.add(fixtures.user(organization));
+        }
+        List<TimeLogDto> timesheet = new ArrayList<>(ROWS_PER_IMPORT);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(fixtures.task(organization, users.get(0), project, TaskStatus.IN_PROGRESS));
+        }
+        for (int i = 0; i < ROWS_PER_IMPORT; i++) {
+            timesheet.add(TimeLogBatchScopeTest.entry(tasks.get(i % TASKS).getId()));
+        }
+
+        Benchmarks.Result single = Benchmarks.run("time logs, one call per row", CLIENTS, 1, 5, (c, i) -> {
+            fixtures.signIn(users.get(c));
+            for (TimeLogDto dto : timesheet) {
+                timeLogService.logTime(dto);
+            }
+            return true;
+        });
+        Benchmarks.Result batch = Benchmarks.run("time logs, logTimeBatch", CLIENTS, 1, 5, (c, i) -> {
+            fixtures.signIn(users.get(c));
+            return ((Integer) timeLogService.logTimeBatch(timesheet).get("inserted")) == ROWS_PER_IMPORT;
+        });
+
+        System.out.printf(Locale.ROOT, "[benchmark] time log rows/s: single=%.0f batch=%.0f (x%.1f)%n",
+                single.getThroughputPerSecond() * ROWS_PER_IMPORT, batch.getThroughputPerSecond() * ROWS_PER_IMPORT,
+                batch.getThroughputPerSecond() / single.getThroughputPerSecond());
+    }
+}
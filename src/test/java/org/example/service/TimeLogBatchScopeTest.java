@@ -0,0 +1,66 @@
+package org.example.service;
+
+import org.example.MySqlIntegrationTest;
+import org.example.TestFixtures;
+import org.example.dto.TimeLogDto;
+import org.example.models.Organization;
+import org.example.models.Task;
+import org.example.models.User;
+import org.example.models.enums.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeLogBatchScopeTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private TimeLogService timeLogService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void signOut() {
+        fixtures.signOut();
+    }
+
+    @Test
+    void tasksOfAnotherOrganizationAreReportedAsNotFound() {
+        Organization organization = fixtures.organization();
+        User user = fixtures.user(organization);
+        Task own = fixtures.task(organization, user, fixtures.project(organization), TaskStatus.TO_DO);
+        Organization other = fixtures.organization();
+        User stranger = fixtures.user(other);
+        Task foreign = fixtures.task(other, stranger, fixtures.project(other), TaskStatus.TO_DO);
+
+        fixtures.signIn(user);
+        Map<String, Object> result = timeLogService.logTimeBatch(List.of(entry(own.getId()), entry(foreign.getId())));
+
+        assertEquals(1, result.get("inserted"));
+        assertEquals(1, result.get("rejected"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) result.get("errors");
+        assertEquals(1, errors.get(0).get("index"));
+        assertEquals("Task with ID " + foreign.getId() + " not found.", errors.get(0).get("error"));
+
+        IllegalArgumentException single = assertThrows(IllegalArgumentException.class,
+                () -> timeLogService.logTime(entry(foreign.getId())));
+        assertEquals("Task with ID " + foreign.getId() + " not found.", single.getMessage());
+    }
+
+    static TimeLogDto entry(Long taskId) {
+        TimeLogDto dto = new TimeLogDto();
+        dto.setTaskId(taskId);
+        dto.setDateLogged(LocalDate.now());
+        dto.setHoursLogged(new BigDecimal("1.50"));
+        dto.setWorkDescription("Drawings");
+        return dto;
+    }
+}